@@ -0,0 +1,134 @@
+package com.example.assessment.cache;
+
+import com.example.assessment.dto.AssessmentDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Generated assessments shared between candidates with the same
+ * {@link AssessmentTemplateKey}, so most applicants to a JD don't need an
+ * LLM call of their own.
+ *
+ * LRU bounded by {@code assessment.cache.max-entries}; entries expire after
+ * {@code assessment.cache.ttl}. Concurrent misses on one key share a single
+ * generation.
+ */
+@Component
+public class AssessmentTemplateCache {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentTemplateCache.class);
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final long ttlMillis;
+
+    private final LinkedHashMap<AssessmentTemplateKey, Entry> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<AssessmentTemplateKey, CompletableFuture<AssessmentDto>> inFlight = new ConcurrentHashMap<>();
+
+    public AssessmentTemplateCache(
+            @Value("${assessment.cache.enabled:true}") boolean enabled,
+            @Value("${assessment.cache.max-entries:500}") int maxEntries,
+            @Value("${assessment.cache.ttl:7d}") Duration ttl
+    ) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttlMillis = ttl.toMillis();
+    }
+
+    public AssessmentDto getOrGenerate(AssessmentTemplateKey key, Supplier<AssessmentDto> generator) {
+
+        if (!isCacheable(key)) {
+            return generator.get();
+        }
+
+        Optional<AssessmentDto> cached = find(key);
+        if (cached.isPresent()) {
+            return cached.get();
+        }
+
+        CompletableFuture<AssessmentDto> mine = new CompletableFuture<>();
+        CompletableFuture<AssessmentDto> running = inFlight.putIfAbsent(key, mine);
+
+        if (running != null) {
+            try {
+                return running.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+
+        try {
+            AssessmentDto generated = generator.get();
+            put(key, generated);
+            mine.complete(generated);
+            return generated;
+
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+
+        } finally {
+            inFlight.remove(key);
+        }
+    }
+
+    // Without skills the key says next to nothing about the candidate
+    public boolean isCacheable(AssessmentTemplateKey key) {
+        return enabled && !key.skills().isEmpty();
+    }
+
+    public Optional<AssessmentDto> find(AssessmentTemplateKey key) {
+
+        if (!isCacheable(key)) {
+            return Optional.empty();
+        }
+
+        synchronized (entries) {
+
+            Entry entry = entries.get(key);
+
+            if (entry == null) {
+                return Optional.empty();
+            }
+
+            if (System.currentTimeMillis() - entry.createdAtMillis() > ttlMillis) {
+                entries.remove(key);
+                return Optional.empty();
+            }
+
+            log.info("Reusing cached assessment for {} / {}", key.seniority(), key.skills());
+            return Optional.of(entry.assessment());
+        }
+    }
+
+    public void put(AssessmentTemplateKey key, AssessmentDto assessment) {
+
+        if (!isCacheable(key)) {
+            return;
+        }
+
+        synchronized (entries) {
+
+            entries.put(key, new Entry(assessment, System.currentTimeMillis()));
+
+            var eldest = entries.keySet().iterator();
+            while (entries.size() > maxEntries && eldest.hasNext()) {
+                eldest.next();
+                eldest.remove();
+            }
+        }
+    }
+
+    private record Entry(AssessmentDto assessment, long createdAtMillis) {}
+}
@@ -0,0 +1,35 @@
+package com.example.assessment.cache;
+
+import com.example.ats.model.ParsedResume;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * What an assessment depends on, coarsely: the JD, the candidate's skill set
+ * (normalized: lowercased, de-duplicated, sorted) and seniority band.
+ */
+public record AssessmentTemplateKey(
+        String jdFingerprint,
+        List<String> skills,
+        SeniorityBand seniority
+) {
+
+    public static AssessmentTemplateKey of(String jdFingerprint, ParsedResume resume) {
+
+        List<String> skills = resume.skills() == null
+                ? List.of()
+                : resume.skills().stream()
+                        .map(s -> s.trim().toLowerCase(Locale.ROOT))
+                        .filter(s -> !s.isEmpty())
+                        .distinct()
+                        .sorted()
+                        .toList();
+
+        return new AssessmentTemplateKey(
+                jdFingerprint,
+                skills,
+                SeniorityBand.of(resume.yearsOfExperience())
+        );
+    }
+}
@@ -0,0 +1,48 @@
+package com.example.assessment.cache;
+
+import com.example.assessment.dto.AssessmentDto;
+import com.example.assessment.dto.McqItem;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Varies a shared assessment per candidate by shuffling the MCQ order and
+ * each question's options. Seeded by candidate, so the same candidate always
+ * gets the same variant. correctAnswer holds the option text, not its
+ * position, so it stays valid.
+ */
+public final class AssessmentVariation {
+
+    private AssessmentVariation() {
+    }
+
+    public static AssessmentDto vary(AssessmentDto template, String seed) {
+
+        if (template.mcqs() == null) {
+            return template;
+        }
+
+        Random random = new Random(seed.hashCode());
+
+        List<McqItem> mcqs = new ArrayList<>(template.mcqs().size());
+
+        for (McqItem mcq : template.mcqs()) {
+
+            if (mcq.options() == null) {
+                mcqs.add(mcq);
+                continue;
+            }
+
+            List<String> options = new ArrayList<>(mcq.options());
+            Collections.shuffle(options, random);
+            mcqs.add(new McqItem(mcq.question(), options, mcq.correctAnswer()));
+        }
+
+        Collections.shuffle(mcqs, random);
+
+        return new AssessmentDto(template.title(), mcqs, template.coding());
+    }
+}
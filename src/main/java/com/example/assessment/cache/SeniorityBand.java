@@ -0,0 +1,15 @@
+package com.example.assessment.cache;
+
+public enum SeniorityBand {
+    JUNIOR,
+    MID,
+    SENIOR,
+    LEAD;
+
+    public static SeniorityBand of(double yearsOfExperience) {
+        if (yearsOfExperience < 2) return JUNIOR;
+        if (yearsOfExperience < 5) return MID;
+        if (yearsOfExperience < 10) return SENIOR;
+        return LEAD;
+    }
+}
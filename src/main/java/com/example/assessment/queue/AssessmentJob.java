@@ -0,0 +1,30 @@
+package com.example.assessment.queue;
+
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A queued assessment for one candidate. {@code resumeSha256} lets the worker
+ * find the already-extracted resume text instead of reading it back from S3.
+ */
+public record AssessmentJob(
+        String candidateId,
+        String resumeSha256,
+        int attempt,
+        long readyAtMillis
+) implements Delayed {
+
+    AssessmentJob retryAt(long readyAtMillis) {
+        return new AssessmentJob(candidateId, resumeSha256, attempt + 1, readyAtMillis);
+    }
+
+    @Override
+    public long getDelay(TimeUnit unit) {
+        return unit.convert(readyAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public int compareTo(Delayed other) {
+        return Long.compare(readyAtMillis, ((AssessmentJob) other).readyAtMillis);
+    }
+}
@@ -0,0 +1,236 @@
+package com.example.assessment.queue;
+
+import com.example.assessment.cache.AssessmentTemplateCache;
+import com.example.assessment.cache.AssessmentTemplateKey;
+import com.example.assessment.cache.AssessmentVariation;
+import com.example.assessment.dto.AssessmentDto;
+import com.example.assessment.service.GoogleFormService;
+import com.example.assessment.service.LlmAssessmentService;
+import com.example.ats.extractor.JDTextExtractor;
+import com.example.ats.model.ParsedResume;
+import com.example.ats.parser.ResumeParser;
+import com.example.infrastructure.storage.S3StorageService;
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import com.example.service.ResumeTextExtractor;
+import com.example.service.cache.ResumeAnalysis;
+import com.example.service.cache.ResumeAnalysisCache;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generates the assessment and Google Form for one queued candidate
+ * (log link only; do not send email).
+ */
+@Component
+public class AssessmentJobProcessor {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentJobProcessor.class);
+
+    private final LlmAssessmentService llmAssessmentService;
+    private final GoogleFormService googleFormService;
+    private final CandidateDynamoRepository repository;
+    private final ResumeAnalysisCache analysisCache;
+    private final S3StorageService s3Service;
+    private final ResumeTextExtractor extractor;
+    private final ResumeParser resumeParser;
+    private final JDTextExtractor jdExtractor;
+    private final AssessmentTemplateCache templateCache;
+
+    public AssessmentJobProcessor(
+            LlmAssessmentService llmAssessmentService,
+            GoogleFormService googleFormService,
+            CandidateDynamoRepository repository,
+            ResumeAnalysisCache analysisCache,
+            S3StorageService s3Service,
+            ResumeTextExtractor extractor,
+            ResumeParser resumeParser,
+            JDTextExtractor jdExtractor,
+            AssessmentTemplateCache templateCache
+    ) {
+        this.llmAssessmentService = llmAssessmentService;
+        this.googleFormService = googleFormService;
+        this.repository = repository;
+        this.analysisCache = analysisCache;
+        this.s3Service = s3Service;
+        this.extractor = extractor;
+        this.resumeParser = resumeParser;
+        this.jdExtractor = jdExtractor;
+        this.templateCache = templateCache;
+    }
+
+    /**
+     * Processes several jobs together: assessments missing from the template
+     * cache are generated in one batched LLM request, falling back to one
+     * request per candidate if the batch response can't be used. Each job
+     * gets its own outcome; one failing doesn't fail the others.
+     */
+    public List<AssessmentOutcome> process(List<AssessmentJob> jobs) {
+
+        Map<AssessmentJob, Prepared> prepared = new LinkedHashMap<>();
+        Map<AssessmentJob, Exception> failures = new HashMap<>();
+
+        for (AssessmentJob job : jobs) {
+            try {
+                prepared.put(job, prepare(job));
+            } catch (Exception e) {
+                failures.put(job, e);
+            }
+        }
+
+        Map<Object, AssessmentDto> templates = templates(prepared.values(), failures);
+
+        List<AssessmentOutcome> outcomes = new ArrayList<>(jobs.size());
+
+        for (AssessmentJob job : jobs) {
+
+            Prepared p = prepared.get(job);
+            AssessmentDto template = p != null ? templates.get(p.slot()) : null;
+
+            if (template == null) {
+                outcomes.add(new AssessmentOutcome(job, null, failures.getOrDefault(job,
+                        new IllegalStateException("No assessment generated"))));
+                continue;
+            }
+
+            try {
+                outcomes.add(new AssessmentOutcome(job, createForm(job, template), null));
+            } catch (Exception e) {
+                outcomes.add(new AssessmentOutcome(job, null, e));
+            }
+        }
+
+        return outcomes;
+    }
+
+    private Prepared prepare(AssessmentJob job) {
+
+        ResumeAnalysis analysis = cachedAnalysis(job);
+
+        String resumeText = analysis != null ? analysis.resumeText() : readResume(job);
+        ParsedResume parsedResume = analysis != null ? analysis.parsedResume() : resumeParser.parse(resumeText);
+
+        // Candidates with the same JD, skills and seniority share one generated assessment
+        AssessmentTemplateKey key =
+                AssessmentTemplateKey.of(jdExtractor.getJDFingerprint(), parsedResume);
+
+        return new Prepared(job, resumeText, key, templateCache.isCacheable(key) ? key : job);
+    }
+
+    // One template per slot: a shareable key, or the job itself when its key isn't cacheable
+    private Map<Object, AssessmentDto> templates(Collection<Prepared> prepared, Map<AssessmentJob, Exception> failures) {
+
+        Map<Object, AssessmentDto> templates = new HashMap<>();
+        Map<Object, Prepared> missing = new LinkedHashMap<>();
+
+        for (Prepared p : prepared) {
+            if (!templates.containsKey(p.slot()) && !missing.containsKey(p.slot())) {
+                templateCache.find(p.key()).ifPresentOrElse(
+                        dto -> templates.put(p.slot(), dto),
+                        () -> missing.put(p.slot(), p));
+            }
+        }
+
+        if (missing.size() == 1) {
+            Prepared p = missing.values().iterator().next();
+            try {
+                templates.put(p.slot(), templateCache.getOrGenerate(
+                        p.key(), () -> llmAssessmentService.generateAssessment(p.resumeText())));
+            } catch (Exception e) {
+                failSlot(prepared, p.slot(), e, failures);
+            }
+            return templates;
+        }
+
+        if (missing.size() > 1) {
+            try {
+                List<Prepared> batch = new ArrayList<>(missing.values());
+                List<AssessmentDto> generated = llmAssessmentService.generateAssessments(
+                        batch.stream().map(Prepared::resumeText).toList());
+
+                for (int i = 0; i < batch.size(); i++) {
+                    templateCache.put(batch.get(i).key(), generated.get(i));
+                    templates.put(batch.get(i).slot(), generated.get(i));
+                }
+
+                log.info("Generated {} assessments in one batched request", batch.size());
+                return templates;
+
+            } catch (Exception e) {
+                log.warn("Batched assessment generation failed, falling back to single requests: {}", e.getMessage());
+            }
+
+            for (Prepared p : missing.values()) {
+                try {
+                    templates.put(p.slot(), templateCache.getOrGenerate(
+                            p.key(), () -> llmAssessmentService.generateAssessment(p.resumeText())));
+                } catch (Exception e) {
+                    failSlot(prepared, p.slot(), e, failures);
+                }
+            }
+        }
+
+        return templates;
+    }
+
+    private void failSlot(Collection<Prepared> prepared, Object slot, Exception e, Map<AssessmentJob, Exception> failures) {
+        for (Prepared p : prepared) {
+            if (p.slot().equals(slot)) {
+                failures.put(p.job(), e);
+            }
+        }
+    }
+
+    private String createForm(AssessmentJob job, AssessmentDto template) {
+
+        AssessmentDto assessment = AssessmentVariation.vary(template, job.candidateId());
+        log.debug("Creating form for candidate {}: {} MCQ(s), {} coding question(s)",
+                job.candidateId(),
+                assessment.mcqs() != null ? assessment.mcqs().size() : 0,
+                assessment.coding() != null ? assessment.coding().size() : 0);
+
+        String formUrl = googleFormService.createForm(assessment);
+        log.info("Generated Assessment Form for candidate {}: {}", job.candidateId(), formUrl);
+
+        return formUrl;
+    }
+
+    private ResumeAnalysis cachedAnalysis(AssessmentJob job) {
+
+        if (job.resumeSha256() == null) {
+            return null;
+        }
+
+        return analysisCache.get(job.resumeSha256()).orElse(null);
+    }
+
+    // Only when the analysis cache no longer has the resume
+    private String readResume(AssessmentJob job) {
+
+        Candidate candidate = repository.findById(job.candidateId())
+                .orElseThrow(() -> new IllegalStateException("Candidate " + job.candidateId() + " not found"));
+
+        try (InputStream resume = s3Service.download(candidate.getResumeS3Key())) {
+            return extractor.extractText(candidate.getResumeS3Key(), resume);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read resume of candidate " + job.candidateId(), e);
+        }
+    }
+
+    private record Prepared(
+            AssessmentJob job,
+            String resumeText,
+            AssessmentTemplateKey key,
+            Object slot
+    ) {}
+}
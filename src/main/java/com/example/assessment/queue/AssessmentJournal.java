@@ -0,0 +1,169 @@
+package com.example.assessment.queue;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Append-only log of queued and finished assessments, one line per event:
+ *
+ * <pre>
+ * E &lt;candidateId&gt; &lt;resumeSha256 or -&gt;
+ * A &lt;candidateId&gt; &lt;attempt&gt;
+ * D &lt;candidateId&gt;
+ * </pre>
+ *
+ * An {@code A} line is written as an attempt starts, so attempts (including
+ * ones cut short by a crash) count against the retry limit across restarts.
+ * Every append is forced to disk before it returns. Replaying the file gives
+ * back the jobs that were queued but never finished, with the number of
+ * attempts already started; a torn last line from a crash is ignored. The
+ * file is rewritten with only the pending jobs once enough finished ones
+ * have piled up.
+ */
+class AssessmentJournal implements AutoCloseable {
+
+    private static final int COMPACT_AFTER = 1000;
+
+    private final Path file;
+    private final Map<String, Pending> pending = new LinkedHashMap<>();
+
+    private FileChannel channel;
+    private int finishedSinceCompaction;
+
+    AssessmentJournal(Path file) throws IOException {
+
+        this.file = file;
+
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+
+        if (Files.exists(file)) {
+            replay(Files.readAllLines(file, StandardCharsets.UTF_8));
+        }
+
+        compact();
+    }
+
+    /**
+     * Jobs that were queued but not finished, in queue order.
+     */
+    synchronized Map<String, Pending> pending() {
+        return new LinkedHashMap<>(pending);
+    }
+
+    synchronized void enqueued(String candidateId, String resumeSha256) throws IOException {
+        append("E " + candidateId + " " + (resumeSha256 != null ? resumeSha256 : "-"));
+        pending.put(candidateId, new Pending(resumeSha256, 0));
+    }
+
+    /**
+     * Records that these jobs are starting their current attempt, with one
+     * forced write for the whole batch.
+     */
+    synchronized void started(List<AssessmentJob> jobs) throws IOException {
+
+        StringBuilder lines = new StringBuilder();
+
+        for (AssessmentJob job : jobs) {
+            if (lines.length() > 0) {
+                lines.append('\n');
+            }
+            lines.append("A ").append(job.candidateId()).append(' ').append(job.attempt());
+        }
+
+        append(lines.toString());
+
+        jobs.forEach(job -> pending.computeIfPresent(job.candidateId(),
+                (id, p) -> new Pending(p.resumeSha256(), job.attempt())));
+    }
+
+    synchronized void finished(String candidateId) throws IOException {
+
+        append("D " + candidateId);
+        pending.remove(candidateId);
+
+        if (++finishedSinceCompaction >= COMPACT_AFTER) {
+            compact();
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        channel.close();
+    }
+
+    private void replay(List<String> lines) {
+
+        for (String line : lines) {
+
+            String[] parts = line.split(" ");
+
+            if (parts.length == 3 && parts[0].equals("E")) {
+                pending.put(parts[1], new Pending(parts[2].equals("-") ? null : parts[2], 0));
+            } else if (parts.length == 3 && parts[0].equals("A")) {
+                replayAttempt(parts[1], parts[2]);
+            } else if (parts.length == 2 && parts[0].equals("D")) {
+                pending.remove(parts[1]);
+            }
+        }
+    }
+
+    private void replayAttempt(String candidateId, String attempt) {
+        try {
+            int started = Integer.parseInt(attempt);
+            pending.computeIfPresent(candidateId, (id, p) -> new Pending(p.resumeSha256(), started));
+        } catch (NumberFormatException e) {
+            // Torn line
+        }
+    }
+
+    private void compact() throws IOException {
+
+        if (channel != null) {
+            channel.close();
+        }
+
+        Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+        StringBuilder out = new StringBuilder();
+
+        pending.forEach((id, p) -> {
+            out.append("E ").append(id).append(' ')
+                    .append(p.resumeSha256() != null ? p.resumeSha256() : "-").append('\n');
+            if (p.attempts() > 0) {
+                out.append("A ").append(id).append(' ').append(p.attempts()).append('\n');
+            }
+        });
+
+        Files.writeString(tmp, out, StandardCharsets.UTF_8);
+        Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        channel = FileChannel.open(file, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        finishedSinceCompaction = 0;
+    }
+
+    private void append(String line) throws IOException {
+
+        ByteBuffer bytes = ByteBuffer.wrap((line + "\n").getBytes(StandardCharsets.UTF_8));
+
+        while (bytes.hasRemaining()) {
+            channel.write(bytes);
+        }
+        channel.force(false);
+    }
+
+    /**
+     * A queued job as replayed from the journal: its resume digest (or null)
+     * and how many attempts were already started.
+     */
+    record Pending(String resumeSha256, int attempts) {}
+}
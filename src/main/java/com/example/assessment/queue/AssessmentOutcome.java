@@ -0,0 +1,10 @@
+package com.example.assessment.queue;
+
+/**
+ * Result of one job: the form URL, or the error that failed this attempt.
+ */
+public record AssessmentOutcome(
+        AssessmentJob job,
+        String formUrl,
+        Exception error
+) {}
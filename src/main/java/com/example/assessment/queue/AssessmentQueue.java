@@ -0,0 +1,278 @@
+package com.example.assessment.queue;
+
+import com.example.model.AssessmentStatus;
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Durable queue of candidates waiting for an assessment, worked off by its
+ * own pool at a controlled rate.
+ *
+ * Jobs are journaled to {@code assessment.queue.journal-file} before
+ * {@link #enqueue} returns and only dropped from it once they completed or
+ * ran out of attempts, so a restart picks up where the last run stopped
+ * (a job interrupted mid-flight runs again). Started attempts are journaled
+ * too, so {@code assessment.queue.max-attempts} holds across restarts.
+ * Failed attempts are retried with exponential backoff and jitter. Progress is written to the candidate's
+ * assessment status.
+ */
+@Component
+public class AssessmentQueue {
+
+    private static final Logger log = LoggerFactory.getLogger(AssessmentQueue.class);
+
+    private final AssessmentJobProcessor processor;
+    private final CandidateDynamoRepository repository;
+
+    private final Path journalFile;
+    private final int workerCount;
+    private final int maxAttempts;
+    private final Duration initialBackoff;
+    private final Duration maxBackoff;
+    private final long minStartIntervalMillis;
+    private final int batchSize;
+
+    private final DelayQueue<AssessmentJob> ready = new DelayQueue<>();
+    private final List<Thread> workers = new ArrayList<>();
+
+    private final Object rateLock = new Object();
+    private long nextStartMillis;
+
+    private AssessmentJournal journal;
+
+    public AssessmentQueue(
+            AssessmentJobProcessor processor,
+            CandidateDynamoRepository repository,
+            @Value("${assessment.queue.journal-file:sync-state/assessment-queue.log}") String journalFile,
+            @Value("${assessment.queue.workers:2}") int workerCount,
+            @Value("${assessment.queue.max-attempts:5}") int maxAttempts,
+            @Value("${assessment.queue.initial-backoff:30s}") Duration initialBackoff,
+            @Value("${assessment.queue.max-backoff:30m}") Duration maxBackoff,
+            @Value("${assessment.queue.max-per-minute:0}") int maxPerMinute,
+            @Value("${assessment.queue.batch-size:3}") int batchSize
+    ) {
+        this.processor = processor;
+        this.repository = repository;
+        this.journalFile = Path.of(journalFile);
+        this.workerCount = Math.max(1, workerCount);
+        this.maxAttempts = Math.max(1, maxAttempts);
+        this.initialBackoff = initialBackoff;
+        this.maxBackoff = maxBackoff;
+        this.minStartIntervalMillis = maxPerMinute > 0 ? 60_000L / maxPerMinute : 0;
+        this.batchSize = Math.max(1, batchSize);
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+
+        journal = new AssessmentJournal(journalFile);
+
+        long now = System.currentTimeMillis();
+        journal.pending().forEach((candidateId, pending) -> {
+
+            AssessmentJob job = new AssessmentJob(candidateId, pending.resumeSha256(), pending.attempts(), now);
+
+            if (pending.attempts() >= maxAttempts) {
+                // Last attempt never reported back (the process died during it)
+                log.error("Assessment for candidate {} used up {} attempt(s) before restart",
+                        candidateId, pending.attempts());
+                updateStatus(job, AssessmentStatus.FAILED, null, "Interrupted after last attempt");
+                finish(job);
+            } else {
+                ready.add(job.retryAt(now));
+            }
+        });
+
+        if (!ready.isEmpty()) {
+            log.info("Resuming {} queued assessment(s)", ready.size());
+        }
+
+        for (int i = 1; i <= workerCount; i++) {
+            Thread worker = new Thread(this::work, "assessment-worker-" + i);
+            worker.setDaemon(true);
+            worker.start();
+            workers.add(worker);
+        }
+    }
+
+    /**
+     * Queues the candidate's assessment; returns once the job is on disk.
+     */
+    public void enqueue(String candidateId, String resumeSha256) {
+
+        try {
+            journal.enqueued(candidateId, resumeSha256);
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to journal assessment for " + candidateId, e);
+        }
+
+        ready.add(new AssessmentJob(candidateId, resumeSha256, 1, System.currentTimeMillis()));
+    }
+
+    public int size() {
+        return ready.size();
+    }
+
+    @PreDestroy
+    void stop() throws IOException, InterruptedException {
+
+        workers.forEach(Thread::interrupt);
+
+        for (Thread worker : workers) {
+            worker.join(Duration.ofSeconds(10).toMillis());
+        }
+
+        journal.close();
+    }
+
+    private void work() {
+
+        while (!Thread.currentThread().isInterrupted()) {
+
+            List<AssessmentJob> batch = new ArrayList<>(batchSize);
+
+            try {
+                batch.add(ready.take());
+                awaitRateSlot();
+            } catch (InterruptedException e) {
+                return;
+            }
+
+            // Whatever else is already due goes into the same LLM request
+            AssessmentJob next;
+            while (batch.size() < batchSize && (next = ready.poll()) != null) {
+                batch.add(next);
+            }
+
+            // Every job in the batch is one generation against the rate limit
+            reserveRateSlots(batch.size() - 1);
+
+            try {
+                journal.started(batch);
+            } catch (IOException e) {
+                log.warn("Could not journal assessment attempt: {}", e.getMessage());
+            }
+
+            List<AssessmentOutcome> outcomes;
+
+            try {
+                outcomes = processor.process(batch);
+            } catch (RuntimeException e) {
+                outcomes = batch.stream().map(job -> new AssessmentOutcome(job, null, e)).toList();
+            }
+
+            outcomes.forEach(this::complete);
+        }
+    }
+
+    private void complete(AssessmentOutcome outcome) {
+
+        AssessmentJob job = outcome.job();
+
+        if (outcome.error() == null) {
+            updateStatus(job, AssessmentStatus.COMPLETED, outcome.formUrl(), "");
+            finish(job);
+
+        } else {
+            Exception e = outcome.error();
+
+            if (job.attempt() >= maxAttempts) {
+                log.error("Assessment for candidate {} failed after {} attempt(s): {}",
+                        job.candidateId(), job.attempt(), e.getMessage());
+                updateStatus(job, AssessmentStatus.FAILED, null, e.getMessage());
+                finish(job);
+                return;
+            }
+
+            long delay = backoffMillis(job.attempt());
+
+            log.warn("Assessment for candidate {} failed (attempt {}), retrying in {} ms: {}",
+                    job.candidateId(), job.attempt(), delay, e.getMessage());
+            updateStatus(job, AssessmentStatus.RETRYING, null, e.getMessage());
+
+            ready.add(job.retryAt(System.currentTimeMillis() + delay));
+        }
+    }
+
+    private void finish(AssessmentJob job) {
+        try {
+            journal.finished(job.candidateId());
+        } catch (IOException e) {
+            // Still journaled as pending, so it runs once more after a restart
+            log.warn("Could not journal completion of assessment for {}: {}", job.candidateId(), e.getMessage());
+        }
+    }
+
+    private void updateStatus(AssessmentJob job, AssessmentStatus status, String formUrl, String error) {
+
+        Candidate changes = new Candidate();
+        changes.setCandidateId(job.candidateId());
+        changes.setAssessmentStatus(status.name());
+        changes.setAssessmentAttempts(job.attempt());
+        changes.setAssessmentFormUrl(formUrl);
+        changes.setAssessmentError(error);
+        changes.setAssessmentUpdatedAt(Instant.now().toString());
+
+        try {
+            repository.updatePartial(changes);
+        } catch (Exception e) {
+            log.warn("Could not update assessment status of {}: {}", job.candidateId(), e.getMessage());
+        }
+    }
+
+    // initial * 2^(attempt-1), capped, with +-20% jitter so retries don't bunch up
+    private long backoffMillis(int attempt) {
+
+        long base = initialBackoff.toMillis() << Math.min(attempt - 1, 20);
+        long capped = Math.min(base, maxBackoff.toMillis());
+
+        return (long) (capped * ThreadLocalRandom.current().nextDouble(0.8, 1.2));
+    }
+
+    private void awaitRateSlot() throws InterruptedException {
+
+        if (minStartIntervalMillis == 0) {
+            return;
+        }
+
+        long wait;
+
+        synchronized (rateLock) {
+            long now = System.currentTimeMillis();
+            long start = Math.max(now, nextStartMillis);
+            nextStartMillis = start + minStartIntervalMillis;
+            wait = start - now;
+        }
+
+        if (wait > 0) {
+            Thread.sleep(wait);
+        }
+    }
+
+    // Charges extra jobs of a batch to the slots after the one it already waited for
+    private void reserveRateSlots(int count) {
+
+        if (minStartIntervalMillis == 0 || count <= 0) {
+            return;
+        }
+
+        synchronized (rateLock) {
+            nextStartMillis += count * minStartIntervalMillis;
+        }
+    }
+}
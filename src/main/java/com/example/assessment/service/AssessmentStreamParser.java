@@ -0,0 +1,237 @@
+package com.example.assessment.service;
+
+import com.example.assessment.dto.AssessmentDto;
+import com.example.assessment.dto.CodingItem;
+import com.example.assessment.dto.McqItem;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.async.ByteArrayFeeder;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.util.TokenBuffer;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Incremental parser for the assessment JSON as the model streams it, fed one
+ * content fragment at a time through Jackson's non-blocking parser.
+ *
+ * Each MCQ and coding item is bound and checked the moment its closing brace
+ * arrives, so a malformed item fails the stream right away instead of after
+ * the whole completion. Handles both a single assessment object and the
+ * batched {"assessments": [...]} form. Text before the first '{' (such as a
+ * markdown fence) and after the root object is ignored.
+ */
+class AssessmentStreamParser {
+
+    private static final int MAX_MCQS = 10;
+    private static final int MAX_CODING = 3;
+
+    // Frame name for an object holding one assessment (the root, or an "assessments" element)
+    private static final String ASSESSMENT = "$assessment";
+
+    private final ObjectMapper objectMapper;
+    private final JsonParser parser;
+    private final ByteArrayFeeder feeder;
+
+    // Enclosing objects/arrays, named after the field that opened them
+    private final Deque<Frame> frames = new ArrayDeque<>();
+    private String fieldName;
+
+    private final Builder rootAssessment = new Builder();
+    private final List<Builder> batchAssessments = new ArrayList<>();
+    private Builder current;
+
+    private TokenBuffer item;
+    private String itemKind;
+    private int itemDepth;
+
+    private boolean started;
+    private boolean rootClosed;
+    private int itemCount;
+
+    AssessmentStreamParser(ObjectMapper objectMapper) throws IOException {
+        this.objectMapper = objectMapper;
+        this.parser = objectMapper.getFactory().createNonBlockingByteArrayParser();
+        this.feeder = (ByteArrayFeeder) parser.getNonBlockingInputFeeder();
+    }
+
+    void feed(String fragment) throws IOException {
+
+        if (rootClosed || fragment.isEmpty()) {
+            return;
+        }
+
+        if (!started) {
+            int brace = fragment.indexOf('{');
+            if (brace < 0) {
+                return;
+            }
+            fragment = fragment.substring(brace);
+            started = true;
+        }
+
+        byte[] bytes = fragment.getBytes(StandardCharsets.UTF_8);
+        feeder.feedInput(bytes, 0, bytes.length);
+
+        JsonToken token;
+        while (!rootClosed && (token = parser.nextToken()) != null && token != JsonToken.NOT_AVAILABLE) {
+            onToken(token);
+        }
+    }
+
+    /**
+     * Items bound so far; lets the caller log progress as the stream arrives.
+     */
+    int itemCount() {
+        return itemCount;
+    }
+
+    List<AssessmentDto> finish() {
+
+        if (!rootClosed) {
+            throw new IllegalStateException("Assessment stream ended before the JSON was complete");
+        }
+
+        List<Builder> assessments = batchAssessments.isEmpty() ? List.of(rootAssessment) : batchAssessments;
+
+        List<AssessmentDto> result = new ArrayList<>(assessments.size());
+        for (Builder b : assessments) {
+            if (b.mcqs.isEmpty() || b.coding.isEmpty()) {
+                throw new IllegalStateException("Streamed assessment is missing MCQs or coding questions");
+            }
+            result.add(new AssessmentDto(b.title, b.mcqs, b.coding));
+        }
+        return result;
+    }
+
+    private void onToken(JsonToken token) throws IOException {
+
+        if (item != null) {
+            captureItemToken(token);
+            return;
+        }
+
+        Frame top = frames.peek();
+
+        switch (token) {
+
+            case FIELD_NAME -> fieldName = parser.currentName();
+
+            case START_OBJECT -> {
+                if (top == null) {
+                    // Root: a single assessment, or the wrapper of "assessments"
+                    current = rootAssessment;
+                    frames.push(new Frame(ASSESSMENT, false));
+
+                } else if (top.array() && ("mcqs".equals(top.name()) || "coding".equals(top.name()))) {
+                    startItem(top.name());
+
+                } else if (top.array() && "assessments".equals(top.name())) {
+                    current = new Builder();
+                    batchAssessments.add(current);
+                    frames.push(new Frame(ASSESSMENT, false));
+
+                } else {
+                    frames.push(new Frame(top.array() ? null : fieldName, false));
+                }
+                fieldName = null;
+            }
+
+            case START_ARRAY -> {
+                frames.push(new Frame(top == null || top.array() ? null : fieldName, true));
+                fieldName = null;
+            }
+
+            case END_OBJECT, END_ARRAY -> {
+                frames.pop();
+                fieldName = null;
+                rootClosed = frames.isEmpty();
+            }
+
+            case VALUE_STRING -> {
+                if ("title".equals(fieldName) && top != null && ASSESSMENT.equals(top.name())) {
+                    current.title = parser.getText();
+                }
+                fieldName = null;
+            }
+
+            default -> fieldName = null;
+        }
+    }
+
+    private void startItem(String kind) throws IOException {
+        item = new TokenBuffer(parser);
+        item.copyCurrentEvent(parser);
+        itemKind = kind;
+        itemDepth = 1;
+    }
+
+    private void captureItemToken(JsonToken token) throws IOException {
+
+        item.copyCurrentEvent(parser);
+
+        if (token == JsonToken.START_OBJECT || token == JsonToken.START_ARRAY) {
+            itemDepth++;
+        } else if (token == JsonToken.END_OBJECT || token == JsonToken.END_ARRAY) {
+            itemDepth--;
+        }
+
+        if (itemDepth > 0) {
+            return;
+        }
+
+        try (JsonParser itemParser = item.asParser(objectMapper)) {
+            if (itemKind.equals("mcqs")) {
+                addMcq(objectMapper.readValue(itemParser, McqItem.class));
+            } else {
+                addCoding(objectMapper.readValue(itemParser, CodingItem.class));
+            }
+        }
+
+        item = null;
+        itemKind = null;
+        itemCount++;
+    }
+
+    private void addMcq(McqItem mcq) {
+
+        if (mcq.question() == null || mcq.question().isBlank()) {
+            throw new IllegalStateException("Streamed MCQ has no question");
+        }
+        if (mcq.options() == null || mcq.options().size() != 4) {
+            throw new IllegalStateException("Streamed MCQ does not have 4 options: " + mcq.question());
+        }
+        if (!mcq.options().contains(mcq.correctAnswer())) {
+            throw new IllegalStateException("Streamed MCQ answer is not one of its options: " + mcq.question());
+        }
+        if (current.mcqs.size() == MAX_MCQS) {
+            throw new IllegalStateException("Streamed assessment has more than " + MAX_MCQS + " MCQs");
+        }
+        current.mcqs.add(mcq);
+    }
+
+    private void addCoding(CodingItem coding) {
+
+        if (coding.title() == null || coding.title().isBlank()
+                || coding.description() == null || coding.description().isBlank()) {
+            throw new IllegalStateException("Streamed coding question is incomplete");
+        }
+        if (current.coding.size() == MAX_CODING) {
+            throw new IllegalStateException("Streamed assessment has more than " + MAX_CODING + " coding questions");
+        }
+        current.coding.add(coding);
+    }
+
+    private record Frame(String name, boolean array) {}
+
+    private static final class Builder {
+        String title;
+        final List<McqItem> mcqs = new ArrayList<>();
+        final List<CodingItem> coding = new ArrayList<>();
+    }
+}
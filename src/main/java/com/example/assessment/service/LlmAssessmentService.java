@@ -6,6 +6,12 @@ import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.apache.hc.client5.http.classic.methods.HttpPost;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.ContentType;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpEntity;
 import org.springframework.http.HttpHeaders;
@@ -17,6 +23,13 @@ import org.springframework.web.client.HttpServerErrorException;
 import org.springframework.web.client.RestClientException;
 import org.springframework.web.client.RestTemplate;
 
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -26,17 +39,31 @@ public class LlmAssessmentService {
     private static final Logger log = LoggerFactory.getLogger(LlmAssessmentService.class);
     private static final String OPENAI_CHAT_URL = "https://api.openai.com/v1/chat/completions";
     private static final String MODEL = "gpt-4o-mini";
+    private static final int MAX_TOKENS_PER_ASSESSMENT = 4096;
+    // Output ceiling of the model; bounds how many assessments fit in one batch
+    private static final int MAX_OUTPUT_TOKENS = 16384;
 
     private final JDTextExtractor jdExtractor;
     private final RestTemplate restTemplate;
+    private final CloseableHttpClient httpClient;
     private final ObjectMapper objectMapper;
 
     @Value("${openai.api-key:}")
     private String openaiApiKey;
 
-    public LlmAssessmentService(JDTextExtractor jdExtractor, RestTemplate restTemplate, ObjectMapper objectMapper) {
+    // Read the completion as server-sent events and check items as they arrive
+    @Value("${openai.stream:true}")
+    private boolean streaming;
+
+    public LlmAssessmentService(
+            JDTextExtractor jdExtractor,
+            RestTemplate restTemplate,
+            CloseableHttpClient pooledHttpClient,
+            ObjectMapper objectMapper
+    ) {
         this.jdExtractor = jdExtractor;
         this.restTemplate = restTemplate;
+        this.httpClient = pooledHttpClient;
         this.objectMapper = objectMapper;
     }
 
@@ -44,28 +71,76 @@ public class LlmAssessmentService {
      * Generates an assessment (10 MCQs + 3 coding questions) using OpenAI based on resume and JD.
      */
     public AssessmentDto generateAssessment(String resumeText) {
-        if (openaiApiKey == null || openaiApiKey.isBlank()) {
-            log.warn("OPENAI_API_KEY is not set; cannot generate assessment");
-            throw new IllegalStateException("OPENAI_API_KEY environment variable is required for assessment generation");
+        String prompt = buildPrompt(jdExtractor.getJDText(), resumeText);
+
+        // max_tokens needed so full assessment JSON (10 MCQs + 3 coding) is not truncated
+        if (streaming) {
+            List<AssessmentDto> assessments = stream(prompt, MAX_TOKENS_PER_ASSESSMENT);
+            if (assessments.size() != 1) {
+                throw new IllegalStateException("Expected one streamed assessment, got " + assessments.size());
+            }
+            return assessments.get(0);
+        }
+
+        return parseAssessmentJson(complete(prompt, MAX_TOKENS_PER_ASSESSMENT));
+    }
+
+    /**
+     * Generates one assessment per resume in a single request, so the JD is sent
+     * once for the whole batch. Results are in input order. Throws if the
+     * response does not hold exactly one valid assessment per resume; callers
+     * fall back to {@link #generateAssessment(String)} in that case.
+     */
+    public List<AssessmentDto> generateAssessments(List<String> resumeTexts) {
+        if (resumeTexts.size() == 1) {
+            return List.of(generateAssessment(resumeTexts.get(0)));
+        }
+
+        String prompt = buildBatchPrompt(jdExtractor.getJDText(), resumeTexts);
+        int maxTokens = Math.min(MAX_TOKENS_PER_ASSESSMENT * resumeTexts.size(), MAX_OUTPUT_TOKENS);
+
+        if (streaming) {
+            List<AssessmentDto> assessments = stream(prompt, maxTokens);
+            if (assessments.size() != resumeTexts.size()) {
+                throw new IllegalStateException("Expected " + resumeTexts.size()
+                        + " streamed assessments, got " + assessments.size());
+            }
+            return assessments;
+        }
+
+        String content = complete(prompt, maxTokens);
+
+        try {
+            JsonNode items = objectMapper.readTree(content).path("assessments");
+            if (!items.isArray() || items.size() != resumeTexts.size()) {
+                throw new IllegalStateException("expected " + resumeTexts.size()
+                        + " assessments, got " + (items.isArray() ? items.size() : 0));
+            }
+
+            List<AssessmentDto> assessments = new ArrayList<>(items.size());
+            for (JsonNode item : items) {
+                AssessmentDto assessment = objectMapper.treeToValue(item, AssessmentDto.class);
+                if (assessment.mcqs() == null || assessment.mcqs().isEmpty()
+                        || assessment.coding() == null || assessment.coding().isEmpty()) {
+                    throw new IllegalStateException("incomplete assessment in batch");
+                }
+                assessments.add(assessment);
+            }
+            return assessments;
+        } catch (Exception e) {
+            log.warn("Failed to parse batched assessment response for {} resumes: {}", resumeTexts.size(), e.getMessage());
+            throw new RuntimeException("Failed to parse batched assessment response from OpenAI", e);
         }
+    }
 
-        String jdText = jdExtractor.getJDText();
-        String prompt = buildPrompt(jdText, resumeText);
+    private String complete(String prompt, int maxTokens) {
+        requireApiKey();
 
         HttpHeaders headers = new HttpHeaders();
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setBearerAuth(openaiApiKey);
 
-        // max_tokens needed so full assessment JSON (10 MCQs + 3 coding) is not truncated
-        Map<String, Object> body = Map.of(
-                "model", MODEL,
-                "messages", List.of(Map.of("role", "user", "content", prompt)),
-                "response_format", Map.of("type", "json_object"),
-                "temperature", 0.3,
-                "max_tokens", 4096
-        );
-
-        HttpEntity<Map<String, Object>> request = new HttpEntity<>(body, headers);
+        HttpEntity<Map<String, Object>> request = new HttpEntity<>(requestBody(prompt, maxTokens), headers);
 
         try {
             ResponseEntity<String> response = restTemplate.postForEntity(OPENAI_CHAT_URL, request, String.class);
@@ -74,8 +149,7 @@ public class LlmAssessmentService {
                 throw new IllegalStateException("OpenAI response body was null or empty");
             }
 
-            String content = extractContentFromResponse(responseBody);
-            return parseAssessmentJson(content);
+            return extractContentFromResponse(responseBody);
         } catch (HttpClientErrorException | HttpServerErrorException e) {
             String errorBody = e.getResponseBodyAsString();
             log.error("OpenAI API error {}: {}", e.getStatusCode(), errorBody != null ? errorBody : e.getMessage());
@@ -86,6 +160,126 @@ public class LlmAssessmentService {
         }
     }
 
+    /**
+     * Streams the completion and parses it as it arrives. A malformed item, or
+     * the model running into max_tokens, aborts the request right there.
+     *
+     * Goes to the pooled HttpClient directly rather than through RestTemplate:
+     * closing a RestTemplate response drains the body to keep the connection,
+     * which would read (and pay for) the rest of the generation. Here an abort
+     * cancels the request, so the connection is dropped instead.
+     */
+    private List<AssessmentDto> stream(String prompt, int maxTokens) {
+        requireApiKey();
+
+        Map<String, Object> body = requestBody(prompt, maxTokens);
+        body.put("stream", true);
+
+        HttpPost post = new HttpPost(OPENAI_CHAT_URL);
+        post.setHeader(HttpHeaders.AUTHORIZATION, "Bearer " + openaiApiKey);
+        post.setHeader(HttpHeaders.ACCEPT, MediaType.TEXT_EVENT_STREAM_VALUE);
+
+        ClassicHttpResponse response = null;
+        boolean completed = false;
+
+        try {
+            post.setEntity(new ByteArrayEntity(objectMapper.writeValueAsBytes(body), ContentType.APPLICATION_JSON));
+
+            response = httpClient.executeOpen(null, post, null);
+
+            if (response.getCode() >= 300) {
+                String errorBody = response.getEntity() != null ? EntityUtils.toString(response.getEntity()) : "";
+                completed = true;
+                log.error("OpenAI API error {}: {}", response.getCode(), errorBody);
+                throw new RuntimeException("OpenAI API error: "
+                        + (!errorBody.isBlank() ? errorBody : "HTTP " + response.getCode()));
+            }
+
+            if (response.getEntity() == null) {
+                throw new IllegalStateException("OpenAI stream had no body");
+            }
+
+            List<AssessmentDto> assessments = readEvents(response.getEntity().getContent());
+
+            // Stream ended with [DONE]: nothing left to read, the connection goes back to the pool
+            EntityUtils.consume(response.getEntity());
+            completed = true;
+
+            return assessments;
+        } catch (IOException e) {
+            log.error("OpenAI streaming call failed: {}", e.getMessage());
+            throw new RuntimeException("Failed to generate assessment from OpenAI", e);
+        } finally {
+            if (!completed) {
+                // Stops generation: the connection is discarded, not drained
+                post.cancel();
+            }
+            closeQuietly(response);
+        }
+    }
+
+    private static void closeQuietly(ClassicHttpResponse response) {
+        if (response == null) {
+            return;
+        }
+        try {
+            response.close();
+        } catch (IOException e) {
+            log.debug("Closing aborted OpenAI stream failed: {}", e.getMessage());
+        }
+    }
+
+    // One "data: {chunk}" line per delta, terminated by "data: [DONE]"
+    private List<AssessmentDto> readEvents(InputStream body) throws IOException {
+        AssessmentStreamParser parser = new AssessmentStreamParser(objectMapper);
+        BufferedReader reader = new BufferedReader(new InputStreamReader(body, StandardCharsets.UTF_8));
+
+        int reported = 0;
+        String line;
+
+        while ((line = reader.readLine()) != null) {
+            if (!line.startsWith("data:")) {
+                continue;
+            }
+
+            String data = line.substring(5).trim();
+            if (data.equals("[DONE]")) {
+                break;
+            }
+
+            JsonNode choice = objectMapper.readTree(data).path("choices").path(0);
+            parser.feed(choice.path("delta").path("content").asText(""));
+
+            if ("length".equals(choice.path("finish_reason").asText(null))) {
+                throw new IllegalStateException("OpenAI stream hit max_tokens after " + parser.itemCount() + " item(s)");
+            }
+
+            if (parser.itemCount() > reported) {
+                reported = parser.itemCount();
+                log.debug("Streamed {} assessment item(s)", reported);
+            }
+        }
+
+        return parser.finish();
+    }
+
+    private Map<String, Object> requestBody(String prompt, int maxTokens) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("model", MODEL);
+        body.put("messages", List.of(Map.of("role", "user", "content", prompt)));
+        body.put("response_format", Map.of("type", "json_object"));
+        body.put("temperature", 0.3);
+        body.put("max_tokens", maxTokens);
+        return body;
+    }
+
+    private void requireApiKey() {
+        if (openaiApiKey == null || openaiApiKey.isBlank()) {
+            log.warn("OPENAI_API_KEY is not set; cannot generate assessment");
+            throw new IllegalStateException("OPENAI_API_KEY environment variable is required for assessment generation");
+        }
+    }
+
     private String buildPrompt(String jdText, String resumeText) {
         return """
             You are an expert technical recruiter. Generate a technical assessment based on the job description and the candidate's resume.
@@ -130,6 +324,59 @@ public class LlmAssessmentService {
             );
     }
 
+    private String buildBatchPrompt(String jdText, List<String> resumeTexts) {
+        StringBuilder candidates = new StringBuilder();
+        for (int i = 0; i < resumeTexts.size(); i++) {
+            String resumeText = resumeTexts.get(i);
+            candidates.append("Candidate ").append(i + 1).append(" Resume (excerpt):\n---\n")
+                    .append(resumeText.length() > 6000 ? resumeText.substring(0, 6000) + "..." : resumeText)
+                    .append("\n---\n\n");
+        }
+
+        return """
+            You are an expert technical recruiter. Generate one technical assessment per candidate, based on the job description and that candidate's resume.
+
+            Job Description:
+            ---
+            %s
+            ---
+
+            %s\
+            Generate STRICT JSON only, no markdown or extra text, in this exact format, with exactly %d entries in "assessments", in candidate order:
+            {
+              "assessments": [
+                {
+                  "title": "Java Developer Assessment",
+                  "mcqs": [
+                    {
+                      "question": "What is JVM?",
+                      "options": ["Option A text", "Option B text", "Option C text", "Option D text"],
+                      "correctAnswer": "Option B text"
+                    }
+                  ],
+                  "coding": [
+                    {
+                      "title": "Two Sum Problem",
+                      "difficulty": "Easy",
+                      "description": "Given an array of integers..."
+                    }
+                  ]
+                }
+              ]
+            }
+
+            Requirements for each assessment:
+            - Exactly 10 multiple-choice questions (mcqs). Each must have 4 options and correctAnswer must be one of the option strings exactly.
+            - Exactly 3 coding questions: 2 Easy, 1 Medium. Each has title, difficulty ("Easy" or "Medium"), and description.
+            - Align questions with the job description and technologies mentioned in that candidate's resume.
+            - Output only valid JSON.
+            """.formatted(
+                jdText.length() > 8000 ? jdText.substring(0, 8000) + "..." : jdText,
+                candidates,
+                resumeTexts.size()
+            );
+    }
+
     private String extractContentFromResponse(String responseBody) {
         try {
             JsonNode root = objectMapper.readTree(responseBody);
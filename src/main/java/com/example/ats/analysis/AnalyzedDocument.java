@@ -0,0 +1,131 @@
+package com.example.ats.analysis;
+
+import com.example.ats.index.SparseVector;
+
+import java.nio.CharBuffer;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * A resume (or any text) analysed once, so the parser and every scorer can
+ * share the work instead of lowercasing and splitting the same text again:
+ *
+ * <ul>
+ *   <li>the original text and a lowercased copy with the same offsets,</li>
+ *   <li>a line index (start offset of every line),</li>
+ *   <li>the number of whitespace-separated words,</li>
+ *   <li>the scoring term counts.</li>
+ * </ul>
+ */
+public final class AnalyzedDocument {
+
+    private final String text;
+    private final char[] lower;
+    private final int[] lineStarts;
+    private final int lineCount;
+    private final int wordCount;
+    private final SparseVector termCounts;
+
+    AnalyzedDocument(
+            String text,
+            char[] lower,
+            int[] lineStarts,
+            int lineCount,
+            int wordCount,
+            SparseVector termCounts) {
+        this.text = text;
+        this.lower = lower;
+        this.lineStarts = lineStarts;
+        this.lineCount = lineCount;
+        this.wordCount = wordCount;
+        this.termCounts = termCounts;
+    }
+
+    public String text() {
+        return text;
+    }
+
+    /**
+     * Read-only lowercase view, usable directly with regex matchers.
+     */
+    public CharSequence lowercase() {
+        return CharBuffer.wrap(lower).asReadOnlyBuffer();
+    }
+
+    public int wordCount() {
+        return wordCount;
+    }
+
+    public SparseVector termCounts() {
+        return termCounts;
+    }
+
+    public int lineCount() {
+        return lineCount;
+    }
+
+    /**
+     * Line {@code index} of the original text, without its line terminator.
+     */
+    public String line(int index) {
+        return text.substring(lineStarts[index], lineEnd(index));
+    }
+
+    public Stream<String> lines() {
+        return IntStream.range(0, lineCount).mapToObj(this::line);
+    }
+
+    /**
+     * Whether the lowercased text contains {@code needle}, which must already be lowercase.
+     */
+    public boolean contains(String needle) {
+        return indexOf(needle, 0, lower.length) >= 0;
+    }
+
+    /**
+     * Whether lowercased line {@code index} contains {@code needle}, which must already be lowercase.
+     */
+    public boolean lineContains(int index, String needle) {
+        return indexOf(needle, lineStarts[index], lineEnd(index)) >= 0;
+    }
+
+    private int lineEnd(int index) {
+
+        int end = index + 1 < lineCount ? lineStarts[index + 1] : text.length();
+
+        while (end > lineStarts[index] &&
+                (text.charAt(end - 1) == '\n' || text.charAt(end - 1) == '\r')) {
+            end--;
+        }
+
+        return end;
+    }
+
+    private int indexOf(String needle, int from, int to) {
+
+        int n = needle.length();
+        char first = n > 0 ? needle.charAt(0) : 0;
+
+        for (int i = from, last = to - n; i <= last; i++) {
+
+            if (n == 0) {
+                return i;
+            }
+
+            if (lower[i] != first) {
+                continue;
+            }
+
+            int k = 1;
+            while (k < n && lower[i + k] == needle.charAt(k)) {
+                k++;
+            }
+
+            if (k == n) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+}
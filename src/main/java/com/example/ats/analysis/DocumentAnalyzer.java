@@ -0,0 +1,70 @@
+package com.example.ats.analysis;
+
+import com.example.ats.index.TermVectorizer;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+@Component
+public class DocumentAnalyzer {
+
+    private final TermVectorizer vectorizer;
+
+    public DocumentAnalyzer(TermVectorizer vectorizer) {
+        this.vectorizer = vectorizer;
+    }
+
+    /**
+     * Builds the lowercase buffer, line index, word count and term counts in one
+     * pass over the text.
+     */
+    public AnalyzedDocument analyze(String text) {
+
+        if (text == null)
+            text = "";
+
+        int length = text.length();
+        char[] lower = new char[length];
+
+        int[] lineStarts = new int[64];
+        int lineCount = 1;
+
+        int wordCount = 0;
+        boolean inWord = false;
+
+        TermVectorizer.TermCounter terms = vectorizer.counter();
+
+        for (int i = 0; i < length; i++) {
+
+            char c = text.charAt(i);
+
+            // Per-char lowercasing keeps offsets identical to the original text
+            lower[i] = Character.toLowerCase(c);
+
+            if (Character.isWhitespace(c)) {
+                inWord = false;
+            } else if (!inWord) {
+                inWord = true;
+                wordCount++;
+            }
+
+            if (c == '\n' && i + 1 < length) {
+                if (lineCount == lineStarts.length) {
+                    lineStarts = Arrays.copyOf(lineStarts, lineCount * 2);
+                }
+                lineStarts[lineCount++] = i + 1;
+            }
+
+            terms.accept(c);
+        }
+
+        return new AnalyzedDocument(
+                text,
+                lower,
+                lineStarts,
+                lineCount,
+                wordCount,
+                terms.finish()
+        );
+    }
+}
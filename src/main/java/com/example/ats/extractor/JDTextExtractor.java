@@ -1,63 +1,112 @@
 package com.example.ats.extractor;
 
+import com.example.ats.model.JobDescriptionProfile;
+import com.example.ats.scorer.CosineSimilarityCalculator;
 import com.example.service.ResumeTextExtractor;
+import com.example.util.ContentDigest;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.stereotype.Component;
 
-import java.io.File;
+import java.io.InputStream;
 
 @Component
 public class JDTextExtractor {
 
     private final ResumeTextExtractor textExtractor;
+    private final CosineSimilarityCalculator cosine;
 
-    // Cache JD text so we don't re-read PDF every time
-    private String cachedJDText;
+    // Cache JD text, fingerprint and scoring profile so we don't re-read
+    // or re-tokenize the PDF for every resume. Swapped as one unit on reload.
+    private volatile LoadedJD loaded;
 
-    public JDTextExtractor(ResumeTextExtractor textExtractor) {
+    public JDTextExtractor(
+            ResumeTextExtractor textExtractor,
+            CosineSimilarityCalculator cosine) {
         this.textExtractor = textExtractor;
+        this.cosine = cosine;
     }
 
     /**
      * Returns Job Description text extracted from jd.pdf
      */
     public String getJDText() {
+        return load().text();
+    }
+
+    /**
+     * SHA-256 of the current JD text
+     */
+    public String getJDFingerprint() {
+        return load().fingerprint();
+    }
+
+    /**
+     * JD term statistics for similarity scoring, built once per load
+     */
+    public JobDescriptionProfile getJDProfile() {
+        return load().profile();
+    }
+
+    /**
+     * Optional: force reload JD from disk
+     */
+    public void reloadJD() {
+        loaded = null;
+    }
+
+    private LoadedJD load() {
 
         // Return cached version if already loaded
-        if (cachedJDText != null) {
-            return cachedJDText;
+        LoadedJD current = loaded;
+        if (current != null) {
+            return current;
         }
 
-        try {
+        synchronized (this) {
 
-            // Load jd.pdf from resources folder
-            File jdFile =
-                    new ClassPathResource("jd.pdf").getFile();
+            if (loaded != null) {
+                return loaded;
+            }
 
-            // Extract text using Apache Tika
-            cachedJDText =
-                    textExtractor.extractText(jdFile);
+            try {
 
-            if (cachedJDText == null || cachedJDText.isBlank()) {
-                throw new RuntimeException(
-                        "JD text extraction returned empty content");
-            }
+                String jdText;
+
+                // Load jd.pdf from resources folder (stream, so it also works from inside the jar)
+                try (InputStream jdStream =
+                             new ClassPathResource("jd.pdf").getInputStream()) {
+
+                    // Extract text using Apache Tika
+                    jdText =
+                            textExtractor.extractText("jd.pdf", jdStream);
+                }
+
+                if (jdText == null || jdText.isBlank()) {
+                    throw new RuntimeException(
+                            "JD text extraction returned empty content");
+                }
+
+                loaded = new LoadedJD(
+                        jdText,
+                        ContentDigest.sha256Hex(jdText),
+                        cosine.buildProfile(jdText)
+                );
 
-            return cachedJDText;
+                return loaded;
 
-        } catch (Exception e) {
+            } catch (Exception e) {
 
-            throw new RuntimeException(
-                    "Failed to load or extract JD PDF",
-                    e
-            );
+                throw new RuntimeException(
+                        "Failed to load or extract JD PDF",
+                        e
+                );
+            }
         }
     }
 
-    /**
-     * Optional: force reload JD from disk
-     */
-    public void reloadJD() {
-        cachedJDText = null;
-    }
-}
\ No newline at end of file
+    private record LoadedJD(
+            String text,
+            String fingerprint,
+            JobDescriptionProfile profile
+    ) {}
+}
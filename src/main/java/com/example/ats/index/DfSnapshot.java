@@ -0,0 +1,66 @@
+package com.example.ats.index;
+
+/**
+ * Immutable view of the corpus document frequencies, indexed by
+ * {@link TermDictionary} id, with IDF precomputed per term. Readers hold on to
+ * one snapshot per scoring call.
+ */
+public final class DfSnapshot {
+
+    public static final DfSnapshot EMPTY = new DfSnapshot(0, 0, new int[0]);
+
+    private final long version;
+    private final int documentCount;
+    private final int[] documentFrequencies;
+    private final float[] idf;
+
+    // IDF of a term no indexed document contains (also ids interned after this snapshot)
+    private final float unseenIdf;
+
+    public DfSnapshot(long version, int documentCount, int[] documentFrequencies) {
+        this.version = version;
+        this.documentCount = documentCount;
+        this.documentFrequencies = documentFrequencies;
+        this.idf = new float[documentFrequencies.length];
+        for (int id = 0; id < idf.length; id++) {
+            idf[id] = smoothedIdf(documentCount, documentFrequencies[id]);
+        }
+        this.unseenIdf = smoothedIdf(documentCount, 0);
+    }
+
+    public long version() {
+        return version;
+    }
+
+    public int documentCount() {
+        return documentCount;
+    }
+
+    public int[] documentFrequencies() {
+        return documentFrequencies;
+    }
+
+    public int df(int termId) {
+        return termId >= 0 && termId < documentFrequencies.length
+                ? documentFrequencies[termId]
+                : 0;
+    }
+
+    public float unseenIdf() {
+        return unseenIdf;
+    }
+
+    public float idf(int termId) {
+        return termId >= 0 && termId < idf.length
+                ? idf[termId]
+                : unseenIdf;
+    }
+
+    /**
+     * Smoothed IDF: ln((1 + N) / (1 + df)) + 1. Never negative, and 1 for every
+     * term while the corpus is still empty, which degrades to plain TF cosine.
+     */
+    private static float smoothedIdf(int documentCount, int df) {
+        return (float) (Math.log((1.0 + documentCount) / (1.0 + df)) + 1.0);
+    }
+}
@@ -0,0 +1,184 @@
+package com.example.ats.index;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Corpus-wide document frequencies over every resume saved as a candidate.
+ *
+ * Writers fold new documents into a private int[] under a lock. Readers never
+ * lock: they read the last published {@link DfSnapshot}, which is swapped in
+ * every {@code ats.idf.publish-interval} when something changed and persisted
+ * to {@code ats.idf.snapshot-file} so the corpus survives restarts.
+ */
+@Component
+public class DocumentFrequencyIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentFrequencyIndex.class);
+
+    private static final int FILE_MAGIC = 0x49444631; // "IDF1"
+
+    private final TermDictionary dictionary;
+    private final Path snapshotFile;
+
+    private final Object writeLock = new Object();
+    private int[] frequencies = new int[1024];
+    private int documentCount;
+    private boolean dirty;
+
+    private volatile DfSnapshot published = DfSnapshot.EMPTY;
+
+    public DocumentFrequencyIndex(
+            TermDictionary dictionary,
+            @Value("${ats.idf.snapshot-file:sync-state/idf-index.bin}") String snapshotFile
+    ) {
+        this.dictionary = dictionary;
+        this.snapshotFile = Path.of(snapshotFile);
+    }
+
+    public DfSnapshot snapshot() {
+        return published;
+    }
+
+    /**
+     * Counts one document, given its term vector (each term occurs once). Its
+     * terms the dictionary did not know yet are interned here: only documents
+     * joining the corpus grow the dictionary, scoring never does.
+     */
+    public void addDocument(SparseVector terms) {
+
+        int[] unseenIds = new int[terms.unseenSize()];
+        for (int i = 0; i < unseenIds.length; i++) {
+            unseenIds[i] = dictionary.intern(terms.unseenTerm(i));
+        }
+
+        synchronized (writeLock) {
+            for (int i = 0; i < terms.size(); i++) {
+                int id = terms.id(i);
+                ensureCapacity(id);
+                frequencies[id]++;
+            }
+            for (int id : unseenIds) {
+                ensureCapacity(id);
+                frequencies[id]++;
+            }
+            documentCount++;
+            dirty = true;
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ats.idf.publish-interval:30s}",
+            initialDelayString = "${ats.idf.publish-interval:30s}")
+    public synchronized void publish() {
+
+        DfSnapshot next;
+
+        synchronized (writeLock) {
+            if (!dirty) {
+                return;
+            }
+            next = new DfSnapshot(
+                    published.version() + 1,
+                    documentCount,
+                    Arrays.copyOf(frequencies, dictionary.size())
+            );
+            dirty = false;
+        }
+
+        published = next;
+        persist(next);
+    }
+
+    @PostConstruct
+    void load() {
+
+        if (!Files.exists(snapshotFile)) {
+            return;
+        }
+
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+
+            if (in.readInt() != FILE_MAGIC) {
+                log.warn("Ignoring {}: not an IDF snapshot", snapshotFile);
+                return;
+            }
+
+            int docs = in.readInt();
+            int terms = in.readInt();
+
+            synchronized (writeLock) {
+                for (int i = 0; i < terms; i++) {
+                    int id = dictionary.intern(in.readUTF());
+                    ensureCapacity(id);
+                    frequencies[id] = in.readInt();
+                }
+                documentCount = docs;
+                dirty = true;
+            }
+
+            publish();
+            log.info("Loaded IDF index: {} documents, {} terms", docs, terms);
+
+        } catch (IOException e) {
+            log.warn("Could not load IDF snapshot {}: {}", snapshotFile, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    void flush() {
+        publish();
+    }
+
+    private void persist(DfSnapshot snapshot) {
+
+        try {
+            if (snapshotFile.getParent() != null) {
+                Files.createDirectories(snapshotFile.getParent());
+            }
+
+            Path tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+            int[] df = snapshot.documentFrequencies();
+
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+
+                out.writeInt(FILE_MAGIC);
+                out.writeInt(snapshot.documentCount());
+                out.writeInt(df.length);
+
+                for (int id = 0; id < df.length; id++) {
+                    out.writeUTF(dictionary.term(id));
+                    out.writeInt(df[id]);
+                }
+            }
+
+            Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            log.warn("Could not persist IDF snapshot: {}", e.getMessage());
+        }
+    }
+
+    private void ensureCapacity(int id) {
+        if (id >= frequencies.length) {
+            frequencies = Arrays.copyOf(frequencies, Math.max(id + 1, frequencies.length * 2));
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package com.example.ats.index;
+
+/**
+ * Term vector as parallel arrays of ascending term ids and their values (raw
+ * counts for documents). Dot products walk both id arrays once in step, so
+ * scoring is linear in the number of distinct terms and boxes nothing.
+ *
+ * Terms the {@link TermDictionary} did not know when the vector was built are
+ * kept by text, sorted, next to the ids. They weigh in the norms with the
+ * unseen IDF and get their ids once the document joins the IDF corpus.
+ */
+public final class SparseVector {
+
+    private static final String[] NO_TERMS = new String[0];
+    private static final float[] NO_VALUES = new float[0];
+
+    public static final SparseVector EMPTY = new SparseVector(new int[0], NO_VALUES);
+
+    private final int[] ids;
+    private final float[] values;
+
+    private final String[] unseenTerms;
+    private final float[] unseenValues;
+
+    SparseVector(int[] ids, float[] values) {
+        this(ids, values, NO_TERMS, NO_VALUES);
+    }
+
+    SparseVector(int[] ids, float[] values, String[] unseenTerms, float[] unseenValues) {
+        this.ids = ids;
+        this.values = values;
+        this.unseenTerms = unseenTerms;
+        this.unseenValues = unseenValues;
+    }
+
+    public int size() {
+        return ids.length;
+    }
+
+    public int id(int index) {
+        return ids[index];
+    }
+
+    public float value(int index) {
+        return values[index];
+    }
+
+    public int unseenSize() {
+        return unseenTerms.length;
+    }
+
+    public String unseenTerm(int index) {
+        return unseenTerms[index];
+    }
+
+    public double total() {
+        double sum = 0;
+        for (float v : values) {
+            sum += v;
+        }
+        for (float v : unseenValues) {
+            sum += v;
+        }
+        return sum;
+    }
+
+    public double norm() {
+        double sum = 0;
+        for (float v : values) {
+            sum += (double) v * v;
+        }
+        for (float v : unseenValues) {
+            sum += (double) v * v;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Norm after weighting every term by its IDF.
+     */
+    public double norm(DfSnapshot df) {
+        double sum = 0;
+        for (int i = 0; i < ids.length; i++) {
+            double w = values[i] * df.idf(ids[i]);
+            sum += w * w;
+        }
+        for (float v : unseenValues) {
+            double w = v * df.unseenIdf();
+            sum += w * w;
+        }
+        return Math.sqrt(sum);
+    }
+
+    /**
+     * Dot product after weighting both sides by IDF. Unseen terms don't take
+     * part: the other side (a JD) has every one of its terms interned, so a
+     * shared term always has an id on both sides.
+     */
+    public double dot(SparseVector other, DfSnapshot df) {
+
+        int[] a = ids;
+        int[] b = other.ids;
+        int i = 0;
+        int j = 0;
+        double sum = 0;
+
+        while (i < a.length && j < b.length) {
+
+            if (a[i] == b[j]) {
+                double idf = df.idf(a[i]);
+                sum += values[i] * other.values[j] * idf * idf;
+                i++;
+                j++;
+            } else if (a[i] < b[j]) {
+                i++;
+            } else {
+                j++;
+            }
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,156 @@
+package com.example.ats.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+
+/**
+ * Interns terms to dense int ids so per-term statistics can live in primitive
+ * arrays. Ids are stable for the life of the process. Terms are interned by
+ * documents joining the IDF corpus and by JD profiles; scoring only looks
+ * terms up, so the dictionary grows with the corpus, not with traffic.
+ *
+ * Open-addressing table over char[] keys, looked up straight from a slice of a
+ * caller's buffer, so the hot path never builds a String. Reads are lock-free:
+ * a term's chars are written before its slot is published through the
+ * {@link AtomicIntegerArray}, and a grown table is only published once fully
+ * built. Only inserting a new term takes the lock.
+ */
+@Component
+public class TermDictionary {
+
+    private static final int INITIAL_CAPACITY = 1 << 14;
+
+    private final Object writeLock = new Object();
+
+    private volatile Table table = new Table(INITIAL_CAPACITY);
+    private volatile int size;
+
+    /**
+     * Returns the id of the term, or -1 if it has never been interned.
+     */
+    public int lookup(String term) {
+        char[] chars = term.toCharArray();
+        return lookup(chars, 0, chars.length);
+    }
+
+    public int lookup(char[] buf, int offset, int length) {
+        return find(table, buf, offset, length, hash(buf, offset, length));
+    }
+
+    public int intern(String term) {
+        char[] chars = term.toCharArray();
+        return intern(chars, 0, chars.length);
+    }
+
+    public int intern(char[] buf, int offset, int length) {
+
+        int hash = hash(buf, offset, length);
+
+        int id = find(table, buf, offset, length, hash);
+        if (id >= 0) {
+            return id;
+        }
+
+        synchronized (writeLock) {
+
+            Table t = table;
+
+            id = find(t, buf, offset, length, hash);
+            if (id >= 0) {
+                return id;
+            }
+
+            id = size;
+
+            if (id == t.terms.length) {
+                t = t.grow(id);
+                table = t;
+            }
+
+            t.terms[id] = Arrays.copyOfRange(buf, offset, offset + length);
+            t.hashes[id] = hash;
+            t.insert(hash, id);
+
+            size = id + 1;
+            return id;
+        }
+    }
+
+    public String term(int id) {
+        synchronized (writeLock) {
+            return new String(table.terms[id]);
+        }
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private static int find(Table t, char[] buf, int offset, int length, int hash) {
+
+        int i = hash & t.mask;
+
+        while (true) {
+
+            int slot = t.slots.get(i);
+
+            if (slot == 0) {
+                return -1;
+            }
+
+            int id = slot - 1;
+
+            if (t.hashes[id] == hash && Arrays.equals(t.terms[id], 0, t.terms[id].length, buf, offset, offset + length)) {
+                return id;
+            }
+
+            i = (i + 1) & t.mask;
+        }
+    }
+
+    private static int hash(char[] buf, int offset, int length) {
+        int h = 0;
+        for (int i = offset, end = offset + length; i < end; i++) {
+            h = 31 * h + buf[i];
+        }
+        return h ^ (h >>> 16);
+    }
+
+    private static final class Table {
+
+        // id + 1 per slot, 0 = empty; kept at most half full
+        final AtomicIntegerArray slots;
+        final int mask;
+
+        // by id
+        final char[][] terms;
+        final int[] hashes;
+
+        Table(int slotCount) {
+            this.slots = new AtomicIntegerArray(slotCount);
+            this.mask = slotCount - 1;
+            this.terms = new char[slotCount / 2][];
+            this.hashes = new int[slotCount / 2];
+        }
+
+        void insert(int hash, int id) {
+            int i = hash & mask;
+            while (slots.get(i) != 0) {
+                i = (i + 1) & mask;
+            }
+            slots.set(i, id + 1);
+        }
+
+        Table grow(int count) {
+            Table bigger = new Table(slots.length() * 2);
+            System.arraycopy(terms, 0, bigger.terms, 0, count);
+            System.arraycopy(hashes, 0, bigger.hashes, 0, count);
+            for (int id = 0; id < count; id++) {
+                bigger.insert(hashes[id], id);
+            }
+            return bigger;
+        }
+    }
+}
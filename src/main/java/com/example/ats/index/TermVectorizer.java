@@ -0,0 +1,180 @@
+package com.example.ats.index;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Turns text into a {@link SparseVector} of term counts in a single scan.
+ *
+ * A term is a whitespace-separated run, lowercased, with everything except
+ * a-z and 0-9 dropped ("Node.js" becomes "nodejs"); terms shorter than three
+ * or longer than {@value #MAX_TERM_LENGTH} characters are ignored. The upper
+ * bound keeps encoded blobs, long URLs and the like out of the dictionary and
+ * out of the IDF snapshot, which stores each term in at most 65535 bytes.
+ *
+ * Token chars and term ids go into per-thread scratch buffers, so the only
+ * allocation per document is the resulting vector (plus the text of terms the
+ * dictionary doesn't know yet). Counting only looks terms up; unknown ones
+ * stay text in the vector until {@link DocumentFrequencyIndex#addDocument}
+ * interns them, so scoring a resume leaves the dictionary as it was.
+ */
+@Component
+public class TermVectorizer {
+
+    private static final int MIN_TERM_LENGTH = 3;
+    private static final int MAX_TERM_LENGTH = 64;
+
+    private final TermDictionary dictionary;
+    private final ThreadLocal<Scratch> scratch = ThreadLocal.withInitial(Scratch::new);
+
+    public TermVectorizer(TermDictionary dictionary) {
+        this.dictionary = dictionary;
+    }
+
+    public SparseVector termCounts(CharSequence text) {
+        return count(text, counter());
+    }
+
+    /**
+     * Like {@link #termCounts(CharSequence)} but interns every term, for a
+     * long-lived document such as a JD that resumes are matched against by id.
+     */
+    public SparseVector internedTermCounts(CharSequence text) {
+        return count(text, new TermCounter(scratch.get(), true));
+    }
+
+    /**
+     * Incremental form of {@link #termCounts(CharSequence)}, for callers that
+     * already walk the text once and want the term vector from the same pass.
+     * Must be used and finished on the calling thread.
+     */
+    public TermCounter counter() {
+        return new TermCounter(scratch.get(), false);
+    }
+
+    private static SparseVector count(CharSequence text, TermCounter counter) {
+
+        for (int i = 0, end = text.length(); i < end; i++) {
+            counter.accept(text.charAt(i));
+        }
+
+        return counter.finish();
+    }
+
+    public final class TermCounter {
+
+        private final Scratch s;
+        private final boolean interning;
+        private int termCount;
+        private int length;
+        private boolean overlong;
+
+        // Terms the dictionary doesn't know, with their counts
+        private Map<String, Integer> unseen;
+
+        private TermCounter(Scratch s, boolean interning) {
+            this.s = s;
+            this.interning = interning;
+        }
+
+        public void accept(char c) {
+
+            if (Character.isWhitespace(c)) {
+                endTerm();
+                return;
+            }
+
+            c = Character.toLowerCase(c);
+
+            if ((c >= 'a' && c <= 'z') || (c >= '0' && c <= '9')) {
+                if (length == MAX_TERM_LENGTH) {
+                    overlong = true;
+                } else {
+                    s.term[length++] = c;
+                }
+            }
+        }
+
+        public SparseVector finish() {
+            endTerm();
+            return toVector(s.ids, termCount, unseen);
+        }
+
+        private void endTerm() {
+            if (length >= MIN_TERM_LENGTH && !overlong) {
+
+                int id = interning
+                        ? dictionary.intern(s.term, 0, length)
+                        : dictionary.lookup(s.term, 0, length);
+
+                if (id >= 0) {
+                    s.ensureIds(termCount + 1);
+                    s.ids[termCount++] = id;
+                } else {
+                    if (unseen == null) {
+                        unseen = new HashMap<>();
+                    }
+                    unseen.merge(new String(s.term, 0, length), 1, Integer::sum);
+                }
+            }
+            length = 0;
+            overlong = false;
+        }
+    }
+
+    private static SparseVector toVector(int[] ids, int count, Map<String, Integer> unseen) {
+
+        if (count == 0 && unseen == null) {
+            return SparseVector.EMPTY;
+        }
+
+        Arrays.sort(ids, 0, count);
+
+        int distinct = count > 0 ? 1 : 0;
+        for (int i = 1; i < count; i++) {
+            if (ids[i] != ids[i - 1]) {
+                distinct++;
+            }
+        }
+
+        int[] vectorIds = new int[distinct];
+        float[] counts = new float[distinct];
+        int k = -1;
+
+        for (int i = 0; i < count; i++) {
+            if (k < 0 || vectorIds[k] != ids[i]) {
+                vectorIds[++k] = ids[i];
+            }
+            counts[k]++;
+        }
+
+        if (unseen == null) {
+            return new SparseVector(vectorIds, counts);
+        }
+
+        String[] unseenTerms = unseen.keySet().toArray(new String[0]);
+        Arrays.sort(unseenTerms);
+
+        float[] unseenCounts = new float[unseenTerms.length];
+        for (int i = 0; i < unseenTerms.length; i++) {
+            unseenCounts[i] = unseen.get(unseenTerms[i]);
+        }
+
+        return new SparseVector(vectorIds, counts, unseenTerms, unseenCounts);
+    }
+
+    private static final class Scratch {
+
+        final char[] term = new char[MAX_TERM_LENGTH];
+        int[] ids = new int[2048];
+
+        void ensureIds(int capacity) {
+            if (capacity > ids.length) {
+                ids = Arrays.copyOf(ids, ids.length * 2);
+            }
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package com.example.ats.model;
+
+public record AtsScoreBreakdown(
+
+        double skillScore,
+        double experienceScore,
+        double projectScore,
+        double qualityScore,
+        double finalScore
+
+) {}
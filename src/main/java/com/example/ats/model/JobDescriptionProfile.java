@@ -0,0 +1,15 @@
+package com.example.ats.model;
+
+import com.example.ats.index.SparseVector;
+
+/**
+ * The job description, tokenized once when it is loaded: its term counts,
+ * the number of scored tokens and the unweighted norm of the count vector.
+ */
+public record JobDescriptionProfile(
+
+        SparseVector termCounts,
+        int tokenCount,
+        double norm
+
+) {}
@@ -1,6 +1,9 @@
 package com.example.ats.parser;
 
+import com.example.ats.analysis.AnalyzedDocument;
+import com.example.ats.analysis.DocumentAnalyzer;
 import com.example.ats.model.ParsedResume;
+import com.example.ats.skills.SkillTaxonomy;
 import org.springframework.stereotype.Component;
 
 import java.util.*;
@@ -19,28 +22,34 @@ public class ResumeParser {
     private static final Pattern NAME_PATTERN =
             Pattern.compile("^[A-Z][a-z]+(\\s+[A-Z][a-z]+){1,2}$");
 
-    private static final List<String> SKILLS = List.of(
-            "java","spring","aws","docker","kubernetes",
-            "mysql","postgresql","redis","react",
-            "node","python","microservices"
-    );
+    private final DocumentAnalyzer analyzer;
+    private final SkillTaxonomy skillTaxonomy;
+
+    public ResumeParser(DocumentAnalyzer analyzer,
+                        SkillTaxonomy skillTaxonomy){
+
+        this.analyzer = analyzer;
+        this.skillTaxonomy = skillTaxonomy;
+    }
 
     public ParsedResume parse(String text){
 
-        if(text == null || text.isBlank())
-            text = "";
+        return parse(analyzer.analyze(text));
+    }
+
+    public ParsedResume parse(AnalyzedDocument doc){
 
-        String email = extractEmail(text);
+        String email = extractEmail(doc.text());
 
-        String name = extractName(text, email);
+        String name = extractName(doc, email);
 
-        List<String> skills = extractSkills(text);
+        List<String> skills = extractSkills(doc);
 
-        double experience = extractExperience(text);
+        double experience = extractExperience(doc);
 
-        List<String> projects = extractProjects(text);
+        List<String> projects = extractProjects(doc);
 
-        int wordCount = text.split("\\s+").length;
+        int wordCount = doc.wordCount();
 
         return new ParsedResume(
                 name,
@@ -61,25 +70,24 @@ public class ResumeParser {
                 : "unknown@email.com";
     }
 
-    private String extractName(String text, String email){
+    private String extractName(AnalyzedDocument doc, String email){
 
         String emailName = extractNameFromEmail(email);
 
         if(emailName != null && !emailName.isBlank())
             return emailName;
 
-        Optional<String> firstLine =
-                text.lines()
-                        .map(String::trim)
-                        .filter(this::isValidNameLine)
-                        .findFirst();
+        for(int i = 0; i < doc.lineCount(); i++){
+
+            String line = doc.line(i).trim();
 
-        if(firstLine.isPresent())
-            return firstLine.get();
+            if(isValidNameLine(doc, i, line))
+                return line;
+        }
 
-        for(String line : text.split("\n")){
+        for(int i = 0; i < doc.lineCount(); i++){
 
-            line = line.trim();
+            String line = doc.line(i).trim();
 
             if(NAME_PATTERN.matcher(line).matches())
                 return line;
@@ -124,14 +132,14 @@ public class ResumeParser {
         return null;
     }
 
-    private boolean isValidNameLine(String line){
+    private boolean isValidNameLine(AnalyzedDocument doc, int lineIndex, String line){
 
         if(line.isEmpty()) return false;
 
         if(line.length() < 3 || line.length() > 50)
             return false;
 
-        if(line.toLowerCase().contains("resume"))
+        if(doc.lineContains(lineIndex, "resume"))
             return false;
 
         if(line.contains("@"))
@@ -146,25 +154,17 @@ public class ResumeParser {
         return true;
     }
 
-    private List<String> extractSkills(String text){
+    private List<String> extractSkills(AnalyzedDocument doc){
 
-        text = text.toLowerCase();
-
-        List<String> found = new ArrayList<>();
-
-        for(String skill : SKILLS){
-
-            if(text.contains(skill))
-                found.add(skill);
-        }
-
-        return found;
+        // One pass over the text for the whole taxonomy, on word boundaries
+        return skillTaxonomy.matcher()
+                .match(doc.lowercase());
     }
 
-    private double extractExperience(String text){
+    private double extractExperience(AnalyzedDocument doc){
 
         Matcher matcher =
-                EXPERIENCE_PATTERN.matcher(text.toLowerCase());
+                EXPERIENCE_PATTERN.matcher(doc.lowercase());
 
         double max = 0;
 
@@ -179,16 +179,16 @@ public class ResumeParser {
         return max;
     }
 
-    private List<String> extractProjects(String text){
+    private List<String> extractProjects(AnalyzedDocument doc){
 
         List<String> projects =
                 new ArrayList<>();
 
-        text.lines()
-                .filter(line ->
-                        line.toLowerCase().contains("project"))
-                .limit(5)
-                .forEach(projects::add);
+        for(int i = 0; i < doc.lineCount() && projects.size() < 5; i++){
+
+            if(doc.lineContains(i, "project"))
+                projects.add(doc.line(i));
+        }
 
         return projects;
     }
@@ -1,5 +1,7 @@
 package com.example.ats.scorer;
 
+import com.example.ats.analysis.AnalyzedDocument;
+import com.example.ats.analysis.DocumentAnalyzer;
 import com.example.ats.model.*;
 import org.springframework.stereotype.Service;
 
@@ -10,17 +12,23 @@ public class ATSScoringService {
     private final ExperienceScorer experience;
     private final ProjectScorer project;
     private final ResumeQualityScorer quality;
+    private final DocumentAnalyzer analyzer;
+    private final CosineSimilarityCalculator cosine;
 
     public ATSScoringService(
             SkillSimilarityScorer skill,
             ExperienceScorer experience,
             ProjectScorer project,
-            ResumeQualityScorer quality){
+            ResumeQualityScorer quality,
+            DocumentAnalyzer analyzer,
+            CosineSimilarityCalculator cosine){
 
         this.skill=skill;
         this.experience=experience;
         this.project=project;
         this.quality=quality;
+        this.analyzer=analyzer;
+        this.cosine=cosine;
     }
 
     public double calculate(
@@ -29,8 +37,34 @@ public class ATSScoringService {
             ParsedResume parsed,
             JDRequirements jdReq){
 
+        return score(resumeText, jdText, parsed, jdReq).finalScore();
+    }
+
+    public AtsScoreBreakdown score(
+            String resumeText,
+            String jdText,
+            ParsedResume parsed,
+            JDRequirements jdReq){
+
+        return score(
+                analyzer.analyze(resumeText),
+                cosine.buildProfile(jdText),
+                parsed,
+                jdReq);
+    }
+
+    /**
+     * Scores an already analysed resume against a JD profile that was tokenized
+     * once at load time; no scorer re-reads the raw text.
+     */
+    public AtsScoreBreakdown score(
+            AnalyzedDocument resume,
+            JobDescriptionProfile jdProfile,
+            ParsedResume parsed,
+            JDRequirements jdReq){
+
         double skillScore =
-                skill.score(resumeText, jdText);
+                skill.score(resume, jdProfile);
 
         double experienceScore =
                 experience.score(
@@ -42,7 +76,7 @@ public class ATSScoringService {
 
         double qualityScore =
                 quality.score(
-                        resumeText,
+                        resume,
                         parsed.skills(),
                         parsed.yearsOfExperience(),
                         parsed.projects()
@@ -54,6 +88,12 @@ public class ATSScoringService {
                         0.20*projectScore +
                         0.10*qualityScore;
 
-        return Math.round(finalScore*100.0)/100.0;
+        return new AtsScoreBreakdown(
+                skillScore,
+                experienceScore,
+                projectScore,
+                qualityScore,
+                Math.round(finalScore*100.0)/100.0
+        );
     }
 }
\ No newline at end of file
@@ -1,130 +1,99 @@
 package com.example.ats.scorer;
 
+import com.example.ats.index.DfSnapshot;
+import com.example.ats.index.DocumentFrequencyIndex;
+import com.example.ats.index.SparseVector;
+import com.example.ats.index.TermVectorizer;
+import com.example.ats.model.JobDescriptionProfile;
 import org.springframework.stereotype.Component;
 
-import java.util.*;
-
 @Component
 public class CosineSimilarityCalculator {
 
-    public double calculate(String text1, String text2){
-
-        Map<String, Double> v1 = tfidf(text1, text1, text2);
-        Map<String, Double> v2 = tfidf(text2, text1, text2);
-
-        return cosine(v1, v2);
-    }
-
-    private Map<String, Double> tfidf(
-            String doc,
-            String doc1,
-            String doc2){
-
-        List<String> words =
-                tokenize(doc);
+    private final TermVectorizer vectorizer;
+    private final DocumentFrequencyIndex index;
 
-        Map<String, Double> tf =
-                computeTF(words);
+    // JD vector norm under the current IDF snapshot; recomputed only when either changes
+    private volatile JdNorm jdNorm;
 
-        Map<String, Double> idf =
-                computeIDF(List.of(
-                        tokenize(doc1),
-                        tokenize(doc2)));
+    public CosineSimilarityCalculator(
+            TermVectorizer vectorizer,
+            DocumentFrequencyIndex index){
 
-        Map<String, Double> result =
-                new HashMap<>();
-
-        for(String word: tf.keySet()){
-
-            result.put(
-                    word,
-                    tf.get(word) *
-                            idf.getOrDefault(word,0.0)
-            );
-        }
-
-        return result;
+        this.vectorizer = vectorizer;
+        this.index = index;
     }
 
-    private List<String> tokenize(String text){
+    public double calculate(String text1, String text2){
 
-        return Arrays.stream(
-                        text.toLowerCase()
-                                .replaceAll("[^a-z0-9 ]","")
-                                .split("\\s+"))
-                .filter(w->w.length()>2)
-                .toList();
+        return calculate(text1, buildProfile(text2));
     }
 
-    private Map<String, Double> computeTF(List<String> words){
-
-        Map<String, Double> map =
-                new HashMap<>();
-
-        for(String w: words){
+    public double calculate(String resumeText, JobDescriptionProfile jd){
 
-            map.put(w,
-                    map.getOrDefault(w,0.0)+1);
-        }
-
-        int total = words.size();
-
-        map.replaceAll((k,v)->v/total);
-
-        return map;
+        return calculate(termCounts(resumeText), jd);
     }
 
-    private Map<String, Double> computeIDF(
-            List<List<String>> docs){
-
-        Map<String, Double> map =
-                new HashMap<>();
+    /**
+     * Cosine of the TF-IDF vectors of a resume and a JD, with IDF taken from
+     * the corpus of all resumes ingested so far. TF is left as raw counts:
+     * dividing by document length scales a whole vector and cancels out.
+     */
+    public double calculate(SparseVector resume, JobDescriptionProfile jd){
 
-        Set<String> words =
-                new HashSet<>();
+        DfSnapshot df = index.snapshot();
 
-        docs.forEach(words::addAll);
+        double n1 = resume.norm(df);
+        double n2 = jdNorm(jd, df);
 
-        for(String word: words){
-
-            int count=0;
+        if(n1==0||n2==0)
+            return 0;
 
-            for(List<String> doc:docs)
-                if(doc.contains(word)) count++;
+        return resume.dot(jd.termCounts(), df)/
+                (n1*n2);
+    }
 
-            map.put(word,
-                    Math.log((double)docs.size()/(1+count)));
-        }
+    /**
+     * Term counts of a document, as scored here and counted by the IDF index.
+     */
+    public SparseVector termCounts(CharSequence text){
 
-        return map;
+        return vectorizer.termCounts(text);
     }
 
-    private double cosine(
-            Map<String,Double> v1,
-            Map<String,Double> v2){
-
-        Set<String> words =
-                new HashSet<>();
+    public JobDescriptionProfile buildProfile(String jdText){
 
-        words.addAll(v1.keySet());
-        words.addAll(v2.keySet());
+        // Interned, unlike resumes: resume terms match the JD's by id
+        SparseVector counts =
+                vectorizer.internedTermCounts(jdText);
 
-        double dot=0,n1=0,n2=0;
+        return new JobDescriptionProfile(
+                counts,
+                (int) counts.total(),
+                counts.norm()
+        );
+    }
 
-        for(String w:words){
+    private double jdNorm(JobDescriptionProfile jd, DfSnapshot df){
 
-            double a=v1.getOrDefault(w,0.0);
-            double b=v2.getOrDefault(w,0.0);
+        // With an empty corpus every IDF is 1, so the plain count norm applies
+        if(df.documentCount()==0)
+            return jd.norm();
 
-            dot+=a*b;
-            n1+=a*a;
-            n2+=b*b;
-        }
+        JdNorm cached = jdNorm;
 
-        if(n1==0||n2==0)
-            return 0;
+        if(cached != null &&
+                cached.profile() == jd &&
+                cached.version() == df.version())
+            return cached.norm();
 
-        return dot/
-                (Math.sqrt(n1)*Math.sqrt(n2));
+        double norm = jd.termCounts().norm(df);
+        jdNorm = new JdNorm(jd, df.version(), norm);
+        return norm;
     }
-}
\ No newline at end of file
+
+    private record JdNorm(
+            JobDescriptionProfile profile,
+            long version,
+            double norm){}
+}
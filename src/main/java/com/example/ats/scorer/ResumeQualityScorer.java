@@ -1,5 +1,6 @@
 package com.example.ats.scorer;
 
+import com.example.ats.analysis.AnalyzedDocument;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -8,12 +9,12 @@ import java.util.List;
 public class ResumeQualityScorer {
 
     public double score(
-            String resumeText,
+            AnalyzedDocument resume,
             List<String> skills,
             double experienceYears,
             List<String> projects) {
 
-        double lengthScore = lengthScore(resumeText);
+        double lengthScore = lengthScore(resume.wordCount());
 
         double skillsScore = skillsScore(skills);
 
@@ -21,7 +22,7 @@ public class ResumeQualityScorer {
 
         double projectScore = projectScore(projects);
 
-        double keywordScore = keywordScore(resumeText);
+        double keywordScore = keywordScore(resume);
 
         double finalScore =
                 0.30 * lengthScore +
@@ -33,9 +34,7 @@ public class ResumeQualityScorer {
         return Math.min(finalScore, 100);
     }
 
-    private double lengthScore(String text) {
-
-        int words = text.split("\\s+").length;
+    private double lengthScore(int words) {
 
         if (words > 800) return 100;
         if (words > 500) return 85;
@@ -72,17 +71,15 @@ public class ResumeQualityScorer {
         return 40;
     }
 
-    private double keywordScore(String text) {
-
-        String lower = text.toLowerCase();
+    private double keywordScore(AnalyzedDocument resume) {
 
         int score = 0;
 
-        if (lower.contains("experience")) score += 20;
-        if (lower.contains("project")) score += 20;
-        if (lower.contains("skills")) score += 20;
-        if (lower.contains("developed")) score += 20;
-        if (lower.contains("implemented")) score += 20;
+        if (resume.contains("experience")) score += 20;
+        if (resume.contains("project")) score += 20;
+        if (resume.contains("skills")) score += 20;
+        if (resume.contains("developed")) score += 20;
+        if (resume.contains("implemented")) score += 20;
 
         return score;
     }
@@ -1,6 +1,7 @@
 package com.example.ats.scorer;
 
-import com.example.ats.scorer.CosineSimilarityCalculator;
+import com.example.ats.analysis.AnalyzedDocument;
+import com.example.ats.model.JobDescriptionProfile;
 import org.springframework.stereotype.Component;
 
 @Component
@@ -21,4 +22,12 @@ public class SkillSimilarityScorer {
         return cosine.calculate(
                 resumeText, jdText)*100;
     }
+
+    public double score(
+            AnalyzedDocument resume,
+            JobDescriptionProfile jdProfile){
+
+        return cosine.calculate(
+                resume.termCounts(), jdProfile)*100;
+    }
 }
\ No newline at end of file
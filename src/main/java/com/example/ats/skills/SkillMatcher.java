@@ -0,0 +1,276 @@
+package com.example.ats.skills;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Aho-Corasick automaton over every skill name and alias of a taxonomy. One left
+ * to right pass over the lowercased text finds all of them, however large the
+ * dictionary. A hit only counts when it sits on word boundaries, so "java"
+ * does not fire inside "javascript" and "node" does not fire inside "nodes".
+ *
+ * Immutable once built; {@link SkillTaxonomy} swaps in a new one on reload.
+ */
+public final class SkillMatcher {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillMatcher.class);
+
+    // Per node: sorted transition chars and their target nodes
+    private final char[][] edgeChars;
+    private final int[][] edgeTargets;
+
+    private final int[] fail;
+
+    // Pattern ending exactly at the node (-1 if none) and nearest proper
+    // suffix node that also ends a pattern (-1 if none)
+    private final int[] patternAt;
+    private final int[] outputLink;
+
+    private final int[] patternLength;
+    private final int[] patternSkill;
+    private final boolean[] patternStartsWithWordChar;
+    private final boolean[] patternEndsWithWordChar;
+
+    private final List<String> skills;
+
+    private SkillMatcher(
+            char[][] edgeChars,
+            int[][] edgeTargets,
+            int[] fail,
+            int[] patternAt,
+            int[] outputLink,
+            int[] patternLength,
+            int[] patternSkill,
+            boolean[] patternStartsWithWordChar,
+            boolean[] patternEndsWithWordChar,
+            List<String> skills) {
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.fail = fail;
+        this.patternAt = patternAt;
+        this.outputLink = outputLink;
+        this.patternLength = patternLength;
+        this.patternSkill = patternSkill;
+        this.patternStartsWithWordChar = patternStartsWithWordChar;
+        this.patternEndsWithWordChar = patternEndsWithWordChar;
+        this.skills = skills;
+    }
+
+    public int skillCount() {
+        return skills.size();
+    }
+
+    /**
+     * Canonical names of all skills found in {@code lowercaseText}, in taxonomy order.
+     */
+    public List<String> match(CharSequence lowercaseText) {
+
+        boolean[] found = new boolean[skills.size()];
+        int length = lowercaseText.length();
+        int state = 0;
+
+        for (int i = 0; i < length; i++) {
+
+            char c = lowercaseText.charAt(i);
+
+            int next;
+            while ((next = transition(state, c)) < 0 && state != 0) {
+                state = fail[state];
+            }
+            state = Math.max(next, 0);
+
+            int node = patternAt[state] >= 0 ? state : outputLink[state];
+
+            while (node >= 0) {
+
+                int pattern = patternAt[node];
+                int end = i + 1;
+                int start = end - patternLength[pattern];
+
+                if (!found[patternSkill[pattern]] && onWordBoundaries(lowercaseText, pattern, start, end)) {
+                    found[patternSkill[pattern]] = true;
+                }
+
+                node = outputLink[node];
+            }
+        }
+
+        List<String> matched = new ArrayList<>();
+        for (int s = 0; s < found.length; s++) {
+            if (found[s]) {
+                matched.add(skills.get(s));
+            }
+        }
+        return matched;
+    }
+
+    private boolean onWordBoundaries(CharSequence text, int pattern, int start, int end) {
+
+        if (patternStartsWithWordChar[pattern] && start > 0 && isWordChar(text.charAt(start - 1))) {
+            return false;
+        }
+
+        return !(patternEndsWithWordChar[pattern] && end < text.length() && isWordChar(text.charAt(end)));
+    }
+
+    private int transition(int state, char c) {
+        int i = Arrays.binarySearch(edgeChars[state], c);
+        return i >= 0 ? edgeTargets[state][i] : -1;
+    }
+
+    static boolean isWordChar(char c) {
+        return Character.isLetterOrDigit(c);
+    }
+
+    /**
+     * A name or alias claimed by two skills stays with the first one in
+     * {@code entries}; the collision is logged.
+     *
+     * @param entries canonical skill name to its aliases (the name itself always matches too)
+     */
+    public static SkillMatcher compile(Map<String, List<String>> entries) {
+
+        List<String> skills = new ArrayList<>(entries.keySet());
+
+        // Build the trie with hash-map edges first, then freeze into arrays
+        List<Map<Character, Integer>> edges = new ArrayList<>();
+        List<Integer> terminal = new ArrayList<>();
+        edges.add(new HashMap<>());
+        terminal.add(-1);
+
+        List<String> patterns = new ArrayList<>();
+        List<Integer> owners = new ArrayList<>();
+
+        for (int s = 0; s < skills.size(); s++) {
+
+            List<String> names = new ArrayList<>();
+            names.add(skills.get(s));
+            names.addAll(entries.get(skills.get(s)));
+
+            for (String name : names) {
+
+                String pattern = name.trim().toLowerCase(Locale.ROOT);
+                if (pattern.isEmpty()) {
+                    continue;
+                }
+
+                int node = 0;
+                for (int i = 0; i < pattern.length(); i++) {
+                    Integer next = edges.get(node).get(pattern.charAt(i));
+                    if (next == null) {
+                        next = edges.size();
+                        edges.add(new HashMap<>());
+                        terminal.add(-1);
+                        edges.get(node).put(pattern.charAt(i), next);
+                    }
+                    node = next;
+                }
+
+                int existing = terminal.get(node);
+
+                if (existing < 0) {
+                    terminal.set(node, patterns.size());
+                    patterns.add(pattern);
+                    owners.add(s);
+                } else if (owners.get(existing) != s) {
+                    log.warn("Skill alias '{}' of '{}' already belongs to '{}'; ignored",
+                            pattern, skills.get(s), skills.get(owners.get(existing)));
+                }
+            }
+        }
+
+        int nodes = edges.size();
+        char[][] edgeChars = new char[nodes][];
+        int[][] edgeTargets = new int[nodes][];
+
+        for (int n = 0; n < nodes; n++) {
+            Character[] keys = edges.get(n).keySet().toArray(new Character[0]);
+            Arrays.sort(keys);
+            edgeChars[n] = new char[keys.length];
+            edgeTargets[n] = new int[keys.length];
+            for (int k = 0; k < keys.length; k++) {
+                edgeChars[n][k] = keys[k];
+                edgeTargets[n][k] = edges.get(n).get(keys[k]);
+            }
+        }
+
+        int[] patternAt = terminal.stream().mapToInt(Integer::intValue).toArray();
+        int[] fail = new int[nodes];
+        int[] outputLink = new int[nodes];
+        Arrays.fill(outputLink, -1);
+
+        // Breadth-first so every node's fail target is final before its children need it
+        int[] queue = new int[nodes];
+        int head = 0;
+        int tail = 0;
+
+        for (int child : edgeTargets[0]) {
+            fail[child] = 0;
+            queue[tail++] = child;
+        }
+
+        while (head < tail) {
+
+            int node = queue[head++];
+
+            for (int k = 0; k < edgeChars[node].length; k++) {
+
+                char c = edgeChars[node][k];
+                int child = edgeTargets[node][k];
+
+                int f = fail[node];
+                int target;
+                while (true) {
+                    int i = Arrays.binarySearch(edgeChars[f], c);
+                    if (i >= 0) {
+                        target = edgeTargets[f][i];
+                        break;
+                    }
+                    if (f == 0) {
+                        target = 0;
+                        break;
+                    }
+                    f = fail[f];
+                }
+
+                fail[child] = target;
+                outputLink[child] = patternAt[target] >= 0 ? target : outputLink[target];
+                queue[tail++] = child;
+            }
+        }
+
+        int patternCount = patterns.size();
+        int[] patternLength = new int[patternCount];
+        int[] patternSkill = new int[patternCount];
+        boolean[] startsWithWordChar = new boolean[patternCount];
+        boolean[] endsWithWordChar = new boolean[patternCount];
+
+        for (int p = 0; p < patternCount; p++) {
+            String pattern = patterns.get(p);
+            patternLength[p] = pattern.length();
+            patternSkill[p] = owners.get(p);
+            startsWithWordChar[p] = isWordChar(pattern.charAt(0));
+            endsWithWordChar[p] = isWordChar(pattern.charAt(pattern.length() - 1));
+        }
+
+        return new SkillMatcher(
+                edgeChars,
+                edgeTargets,
+                fail,
+                patternAt,
+                outputLink,
+                patternLength,
+                patternSkill,
+                startsWithWordChar,
+                endsWithWordChar,
+                List.copyOf(skills)
+        );
+    }
+}
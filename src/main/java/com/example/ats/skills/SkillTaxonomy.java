@@ -0,0 +1,142 @@
+package com.example.ats.skills;
+
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Skill dictionary loaded from {@code ats.skills.taxonomy}, one skill per line:
+ *
+ * <pre>
+ * # comment
+ * kubernetes: k8s, kube
+ * node: node.js, nodejs
+ * </pre>
+ *
+ * The part before ':' is the canonical name reported on the candidate; the rest
+ * are aliases. The file is checked every {@code ats.skills.reload-interval} and
+ * recompiled when it changed, so edits apply without a restart. A file that
+ * fails to load leaves the previous dictionary in place.
+ */
+@Component
+public class SkillTaxonomy {
+
+    private static final Logger log = LoggerFactory.getLogger(SkillTaxonomy.class);
+
+    private final ResourceLoader resourceLoader;
+    private final String location;
+
+    private volatile SkillMatcher matcher;
+    private volatile long loadedLastModified = -1;
+
+    public SkillTaxonomy(
+            ResourceLoader resourceLoader,
+            @Value("${ats.skills.taxonomy:classpath:skills.txt}") String location) {
+        this.resourceLoader = resourceLoader;
+        this.location = location;
+    }
+
+    public SkillMatcher matcher() {
+        return matcher;
+    }
+
+    @PostConstruct
+    public void load() {
+        if (!reload()) {
+            throw new IllegalStateException("Could not load skill taxonomy from " + location);
+        }
+    }
+
+    @Scheduled(
+            fixedDelayString = "${ats.skills.reload-interval:60s}",
+            initialDelayString = "${ats.skills.reload-interval:60s}")
+    public void reloadIfChanged() {
+
+        long lastModified = lastModified(resourceLoader.getResource(location));
+
+        if (lastModified != loadedLastModified) {
+            reload();
+        }
+    }
+
+    /**
+     * Loads and compiles the taxonomy, swapping it in on success.
+     */
+    public synchronized boolean reload() {
+
+        Resource resource = resourceLoader.getResource(location);
+
+        try {
+            long lastModified = lastModified(resource);
+            Map<String, List<String>> entries = read(resource);
+
+            matcher = SkillMatcher.compile(entries);
+            loadedLastModified = lastModified;
+
+            log.info("Loaded skill taxonomy from {}: {} skills", location, entries.size());
+            return true;
+
+        } catch (IOException | RuntimeException e) {
+            log.error("Failed to load skill taxonomy from {}: {}", location, e.getMessage());
+            return false;
+        }
+    }
+
+    private static Map<String, List<String>> read(Resource resource) throws IOException {
+
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+
+            String line;
+
+            while ((line = reader.readLine()) != null) {
+
+                line = line.trim();
+
+                if (line.isEmpty() || line.startsWith("#")) {
+                    continue;
+                }
+
+                int colon = line.indexOf(':');
+                String canonical = (colon < 0 ? line : line.substring(0, colon)).trim().toLowerCase(Locale.ROOT);
+
+                List<String> aliases = entries.computeIfAbsent(canonical, k -> new ArrayList<>());
+
+                if (colon >= 0) {
+                    for (String alias : line.substring(colon + 1).split(",")) {
+                        if (!alias.isBlank()) {
+                            aliases.add(alias.trim().toLowerCase(Locale.ROOT));
+                        }
+                    }
+                }
+            }
+        }
+
+        return entries;
+    }
+
+    private static long lastModified(Resource resource) {
+        try {
+            return resource.lastModified();
+        } catch (IOException e) {
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.config;
+
+import com.azure.identity.ClientSecretCredential;
+import com.azure.identity.ClientSecretCredentialBuilder;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@EnableConfigurationProperties(GraphMailProperties.class)
+public class GraphMailConfig {
+
+    private static final String GRAPH_DEFAULT_SCOPE = "https://graph.microsoft.com/.default";
+
+    /**
+     * Long-lived app-only Graph client for the background poller. The
+     * credential caches its token and fetches a new one before it expires,
+     * so one client serves every poll.
+     */
+    @Bean
+    @ConditionalOnProperty(name = "graph.mail.poller.enabled", havingValue = "true")
+    public GraphServiceClient appGraphClient(GraphMailProperties properties) {
+
+        GraphMailProperties.Poller poller = properties.getPoller();
+
+        ClientSecretCredential credential = new ClientSecretCredentialBuilder()
+                .tenantId(poller.getTenantId())
+                .clientId(poller.getClientId())
+                .clientSecret(poller.getClientSecret())
+                .build();
+
+        GraphServiceClient graphClient = new GraphServiceClient(credential, GRAPH_DEFAULT_SCOPE);
+        graphClient.getRequestAdapter().setBaseUrl(properties.getBaseUrl());
+
+        return graphClient;
+    }
+}
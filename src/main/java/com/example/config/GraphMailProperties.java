@@ -0,0 +1,101 @@
+package com.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Data
+@ConfigurationProperties(prefix = "graph.mail")
+public class GraphMailProperties {
+
+    // Graph root used by every client, including $batch; point it at a stub server to test against
+    private String baseUrl = "https://graph.microsoft.com/v1.0";
+
+    // Page size requested from Graph; further pages are followed lazily via @odata.nextLink
+    private int pageSize = 50;
+
+    // Incremental sync: only fetch messages changed since the last persisted delta link
+    private boolean deltaEnabled = true;
+    private String deltaFolder = "inbox";
+    private String deltaStoreDir = "sync-state";
+
+    // Default caps, applied to every tenant without an override
+    private TenantLimits defaults = new TenantLimits();
+
+    // Per-tenant overrides keyed by Azure AD tenant id
+    private Map<String, TenantLimits> tenants = new HashMap<>();
+
+    // Which attachments are downloaded at all, judged from metadata
+    private Attachments attachments = new Attachments();
+
+    // Background ingestion with app-only (client credentials) access
+    private Poller poller = new Poller();
+
+    public TenantLimits limitsFor(String tenantId) {
+        return tenants.getOrDefault(tenantId, defaults);
+    }
+
+    @Data
+    public static class TenantLimits {
+
+        private int maxConcurrentMessages = 8;
+        private int maxConcurrentAttachments = 16;
+        private long maxInFlightAttachmentBytes = 64L * 1024 * 1024;
+    }
+
+    @Data
+    public static class Attachments {
+
+        private List<String> acceptedExtensions = new ArrayList<>(List.of(".pdf", ".docx", ".doc"));
+        private List<String> acceptedContentTypes = new ArrayList<>(List.of(
+                "application/pdf",
+                "application/vnd.openxmlformats-officedocument.wordprocessingml.document",
+                "application/msword"
+        ));
+
+        // Larger attachments are skipped without downloading
+        private long maxBytes = 10L * 1024 * 1024;
+
+        // Content of one $batch download round trip; larger attachments are fetched on their own
+        private long batchMaxBytes = 4L * 1024 * 1024;
+
+        // Inline parts are signatures, logos and pasted images
+        private boolean skipInline = true;
+
+        public boolean accepts(String fileName, String contentType) {
+
+            if (fileName != null) {
+                String name = fileName.toLowerCase();
+                if (acceptedExtensions.stream().anyMatch(ext -> name.endsWith(ext.toLowerCase()))) {
+                    return true;
+                }
+            }
+
+            return contentType != null &&
+                    acceptedContentTypes.stream().anyMatch(type -> type.equalsIgnoreCase(contentType));
+        }
+    }
+
+    @Data
+    public static class Poller {
+
+        private boolean enabled = false;
+
+        private String tenantId;
+        private String clientId;
+        private String clientSecret;
+
+        // User ids or UPNs of the mailboxes to ingest
+        private List<String> mailboxes = new ArrayList<>();
+
+        // Delay between the end of one poll and the start of the next, plus up to `jitter`
+        private Duration interval = Duration.ofMinutes(2);
+        private Duration initialDelay = Duration.ofSeconds(30);
+        private Duration jitter = Duration.ofSeconds(20);
+    }
+}
@@ -1,38 +1,94 @@
 package com.example.config;
 
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClientBuilder;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.http.client.SimpleClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.web.client.RestTemplate;
 
-import java.io.IOException;
-import java.net.HttpURLConnection;
+import java.time.Duration;
 
+/**
+ * Outbound HTTP (OpenAI, Apps Script) over one pooled Apache HttpClient 5
+ * connection manager. Connections are kept alive and reused, so repeat calls
+ * skip the TCP and TLS handshakes; per-route limits keep one slow host from
+ * taking the whole pool. Pool usage is exposed at {@code /metrics/http-pool}.
+ */
 @Configuration
 public class RestTemplateConfig {
 
-    private static final int CONNECT_TIMEOUT_MS = 30_000;
-    private static final int READ_TIMEOUT_MS = 120_000;
+    @Value("${http.client.max-total:100}")
+    private int maxTotal;
+
+    @Value("${http.client.max-per-route:20}")
+    private int maxPerRoute;
+
+    @Value("${http.client.connect-timeout:10s}")
+    private Duration connectTimeout;
+
+    // LLM completions take a while; this bounds the wait for a response
+    @Value("${http.client.response-timeout:120s}")
+    private Duration responseTimeout;
+
+    @Value("${http.client.connection-request-timeout:30s}")
+    private Duration connectionRequestTimeout;
+
+    @Value("${http.client.connection-ttl:5m}")
+    private Duration connectionTtl;
+
+    @Value("${http.client.idle-eviction:60s}")
+    private Duration idleEviction;
+
+    @Bean(destroyMethod = "close")
+    public PoolingHttpClientConnectionManager httpConnectionManager() {
+        return PoolingHttpClientConnectionManagerBuilder.create()
+                .setMaxConnTotal(maxTotal)
+                .setMaxConnPerRoute(maxPerRoute)
+                .setDefaultConnectionConfig(ConnectionConfig.custom()
+                        .setConnectTimeout(Timeout.of(connectTimeout))
+                        .setSocketTimeout(Timeout.of(responseTimeout))
+                        .setTimeToLive(TimeValue.of(connectionTtl))
+                        .setValidateAfterInactivity(TimeValue.ofSeconds(10))
+                        .build())
+                .build();
+    }
+
+    // Also used directly where a response must be abandoned mid-stream (LLM streaming)
+    @Bean(destroyMethod = "close")
+    public CloseableHttpClient pooledHttpClient(PoolingHttpClientConnectionManager httpConnectionManager) {
+        return pooledClient(httpConnectionManager).build();
+    }
 
     @Bean
-    public RestTemplate restTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory();
-        factory.setConnectTimeout(CONNECT_TIMEOUT_MS);
-        factory.setReadTimeout(READ_TIMEOUT_MS);
-        return new RestTemplate(factory);
+    public RestTemplate restTemplate(CloseableHttpClient pooledHttpClient) {
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(pooledHttpClient));
     }
 
     @Bean(name = "appsScriptRestTemplate")
-    public RestTemplate appsScriptRestTemplate() {
-        SimpleClientHttpRequestFactory factory = new SimpleClientHttpRequestFactory() {
-            @Override
-            protected void prepareConnection(HttpURLConnection connection, String httpMethod) throws IOException {
-                super.prepareConnection(connection, httpMethod);
-                connection.setInstanceFollowRedirects(false);
-            }
-        };
-        factory.setConnectTimeout(CONNECT_TIMEOUT_MS);
-        factory.setReadTimeout(READ_TIMEOUT_MS);
-        return new RestTemplate(factory);
+    public RestTemplate appsScriptRestTemplate(PoolingHttpClientConnectionManager httpConnectionManager) {
+        // GoogleFormService follows the Apps Script redirect itself
+        return new RestTemplate(new HttpComponentsClientHttpRequestFactory(
+                pooledClient(httpConnectionManager).disableRedirectHandling().build()));
+    }
+
+    private HttpClientBuilder pooledClient(PoolingHttpClientConnectionManager connectionManager) {
+        return HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setConnectionManagerShared(true)
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setConnectionRequestTimeout(Timeout.of(connectionRequestTimeout))
+                        .setResponseTimeout(Timeout.of(responseTimeout))
+                        .build())
+                .evictExpiredConnections()
+                .evictIdleConnections(TimeValue.of(idleEviction));
     }
 }
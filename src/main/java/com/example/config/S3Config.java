@@ -6,10 +6,13 @@ import org.springframework.context.annotation.Configuration;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.DefaultCredentialsProvider;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.http.apache.ApacheHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.S3ClientBuilder;
 import software.amazon.awssdk.services.s3.S3Configuration;
+import software.amazon.awssdk.services.s3.S3CrtAsyncClientBuilder;
 
 import java.net.URI;
 import java.time.Duration;
@@ -23,12 +26,34 @@ public class S3Config {
     @Value("${aws.s3.endpoint:}")
     private String endpoint;
 
+    // Blocking client (downloads, deletes): Apache connection pool
+    @Value("${aws.s3.max-connections:50}")
+    private int maxConnections;
+
+    @Value("${aws.s3.connection-acquire-timeout:10s}")
+    private Duration connectionAcquireTimeout;
+
+    // CRT client (uploads): concurrent requests/parts and multipart part size
+    @Value("${aws.s3.upload.max-concurrency:32}")
+    private int uploadMaxConcurrency;
+
+    @Value("${aws.s3.upload.target-throughput-gbps:5.0}")
+    private double uploadTargetThroughputGbps;
+
+    @Value("${aws.s3.upload.minimum-part-size-bytes:8388608}")
+    private long uploadMinimumPartSize;
+
     @Bean
     public S3Client s3Client() {
 
         S3ClientBuilder builder = S3Client.builder()
                 .region(Region.of(region))
                 .credentialsProvider(DefaultCredentialsProvider.create())
+                .httpClientBuilder(
+                        ApacheHttpClient.builder()
+                                .maxConnections(maxConnections)
+                                .connectionAcquisitionTimeout(connectionAcquireTimeout)
+                )
                 .serviceConfiguration(
                         S3Configuration.builder()
                                 .pathStyleAccessEnabled(true)
@@ -41,4 +66,26 @@ public class S3Config {
 
         return builder.build();
     }
+
+    /**
+     * CRT-based async client. Objects larger than the part size are uploaded
+     * as multipart, with parts sent in parallel.
+     */
+    @Bean
+    public S3AsyncClient s3AsyncClient() {
+
+        S3CrtAsyncClientBuilder builder = S3AsyncClient.crtBuilder()
+                .region(Region.of(region))
+                .credentialsProvider(DefaultCredentialsProvider.create())
+                .maxConcurrency(uploadMaxConcurrency)
+                .targetThroughputInGbps(uploadTargetThroughputGbps)
+                .minimumPartSizeInBytes(uploadMinimumPartSize)
+                .forcePathStyle(true);
+
+        if (!endpoint.isEmpty()) {
+            builder.endpointOverride(URI.create(endpoint));
+        }
+
+        return builder.build();
+    }
 }
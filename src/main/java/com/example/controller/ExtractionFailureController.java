@@ -0,0 +1,37 @@
+package com.example.controller;
+
+import com.example.service.extraction.ExtractionFailure;
+import com.example.service.extraction.ExtractionFailureBucket;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@RestController
+public class ExtractionFailureController {
+
+    private final ExtractionFailureBucket failures;
+
+    public ExtractionFailureController(ExtractionFailureBucket failures) {
+        this.failures = failures;
+    }
+
+    /**
+     * Failure totals per reason since startup, and the most recent failed
+     * documents (newest first) to retry or inspect.
+     */
+    @GetMapping("/metrics/extraction-failures")
+    public Map<String, Object> extractionFailures() {
+
+        List<ExtractionFailure> recent = failures.recent();
+        Collections.reverse(recent);
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("totals", failures.totals());
+        result.put("recent", recent);
+        return result;
+    }
+}
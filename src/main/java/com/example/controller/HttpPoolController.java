@@ -0,0 +1,43 @@
+package com.example.controller;
+
+import org.apache.hc.client5.http.HttpRoute;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.core5.pool.PoolStats;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@RestController
+public class HttpPoolController {
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+
+    public HttpPoolController(PoolingHttpClientConnectionManager connectionManager) {
+        this.connectionManager = connectionManager;
+    }
+
+    @GetMapping("/metrics/http-pool")
+    public Map<String, Object> httpPool() {
+
+        Map<String, Object> routes = new LinkedHashMap<>();
+        for (HttpRoute route : connectionManager.getRoutes()) {
+            routes.put(route.getTargetHost().toURI(), stats(connectionManager.getStats(route)));
+        }
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("total", stats(connectionManager.getTotalStats()));
+        result.put("routes", routes);
+        return result;
+    }
+
+    private static Map<String, Integer> stats(PoolStats stats) {
+        Map<String, Integer> result = new LinkedHashMap<>();
+        result.put("leased", stats.getLeased());
+        result.put("available", stats.getAvailable());
+        result.put("pending", stats.getPending());
+        result.put("max", stats.getMax());
+        return result;
+    }
+}
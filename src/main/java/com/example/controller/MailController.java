@@ -1,22 +1,94 @@
 package com.example.controller;
 
 import com.example.service.GraphMailService;
+import com.example.service.sync.MailSyncJob;
+import com.example.service.sync.MailSyncJobs;
+import org.springframework.http.ResponseEntity;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RestController;
 
+import java.net.URI;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 @RestController
 public class MailController {
 
     private final GraphMailService service;
+    private final MailSyncJobs syncJobs;
 
-    public MailController(GraphMailService service) {
+    public MailController(GraphMailService service, MailSyncJobs syncJobs) {
         this.service = service;
+        this.syncJobs = syncJobs;
     }
 
+    /**
+     * Starts a sync of the signed-in user's mailbox (or joins the one already
+     * running) and answers 202 with the job to poll.
+     */
     @GetMapping("/emails")
-    public String getEmails(OAuth2AuthenticationToken authentication) {
-        service.fetchUnreadEmailsAndDownloadResumes(authentication);
-        return "Check console for emails";
+    public ResponseEntity<Map<String, Object>> getEmails(OAuth2AuthenticationToken authentication) {
+
+        MailSyncJob job = syncJobs.submit(
+                service.mailboxKey(authentication),
+                j -> service.fetchUnreadEmailsAndDownloadResumes(authentication, j)
+        );
+
+        URI statusUri = URI.create("/emails/jobs/" + job.getId());
+
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("jobId", job.getId());
+        body.put("status", job.getStatus());
+        body.put("statusUrl", statusUri.toString());
+
+        return ResponseEntity.accepted().location(statusUri).body(body);
+    }
+
+    /**
+     * Status of one of the signed-in user's sync jobs. Jobs of other
+     * mailboxes answer 404, the same as unknown ids.
+     */
+    @GetMapping("/emails/jobs/{id}")
+    public ResponseEntity<Map<String, Object>> getJob(
+            @PathVariable String id,
+            OAuth2AuthenticationToken authentication
+    ) {
+        String mailboxKey = service.mailboxKey(authentication);
+
+        return syncJobs.find(id)
+                .filter(job -> job.getMailboxKey().equals(mailboxKey))
+                .map(job -> ResponseEntity.ok(status(job)))
+                .orElse(ResponseEntity.notFound().build());
+    }
+
+    /**
+     * The signed-in user's retained sync jobs, newest first.
+     */
+    @GetMapping("/emails/jobs")
+    public List<Map<String, Object>> getJobs(OAuth2AuthenticationToken authentication) {
+
+        String mailboxKey = service.mailboxKey(authentication);
+
+        return syncJobs.recent().stream()
+                .filter(job -> job.getMailboxKey().equals(mailboxKey))
+                .map(MailController::status)
+                .toList();
+    }
+
+    private static Map<String, Object> status(MailSyncJob job) {
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("jobId", job.getId());
+        result.put("mailbox", job.getMailboxKey());
+        result.put("status", job.getStatus());
+        result.put("createdAt", job.getCreatedAt());
+        result.put("startedAt", job.getStartedAt());
+        result.put("finishedAt", job.getFinishedAt());
+        result.put("error", job.getError());
+        result.put("counters", job.getCounters());
+        result.put("stages", job.getStageTimings());
+        return result;
     }
-}
\ No newline at end of file
+}
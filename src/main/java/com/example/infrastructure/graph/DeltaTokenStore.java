@@ -0,0 +1,12 @@
+package com.example.infrastructure.graph;
+
+import java.util.Optional;
+
+public interface DeltaTokenStore {
+
+    Optional<String> load(String mailboxKey);
+
+    void save(String mailboxKey, String deltaLink);
+
+    void clear(String mailboxKey);
+}
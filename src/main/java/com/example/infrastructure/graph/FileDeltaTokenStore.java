@@ -0,0 +1,77 @@
+package com.example.infrastructure.graph;
+
+import com.example.config.GraphMailProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Optional;
+
+/**
+ * Keeps one Graph delta link per mailbox on local disk. Writes go to a temp file
+ * first and are moved into place so a crash never leaves a half-written token.
+ */
+@Component
+public class FileDeltaTokenStore implements DeltaTokenStore {
+
+    private static final Logger log = LoggerFactory.getLogger(FileDeltaTokenStore.class);
+
+    private final Path directory;
+
+    public FileDeltaTokenStore(GraphMailProperties properties) {
+        this.directory = Path.of(properties.getDeltaStoreDir());
+    }
+
+    @Override
+    public Optional<String> load(String mailboxKey) {
+
+        Path file = fileFor(mailboxKey);
+
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            String token = Files.readString(file, StandardCharsets.UTF_8).trim();
+            return token.isEmpty() ? Optional.empty() : Optional.of(token);
+        } catch (IOException e) {
+            log.warn("Could not read delta token for {}: {}", mailboxKey, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    @Override
+    public synchronized void save(String mailboxKey, String deltaLink) {
+
+        try {
+            Files.createDirectories(directory);
+
+            Path file = fileFor(mailboxKey);
+            Path tmp = file.resolveSibling(file.getFileName() + ".tmp");
+
+            Files.writeString(tmp, deltaLink, StandardCharsets.UTF_8);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to persist delta token for " + mailboxKey, e);
+        }
+    }
+
+    @Override
+    public synchronized void clear(String mailboxKey) {
+        try {
+            Files.deleteIfExists(fileFor(mailboxKey));
+        } catch (IOException e) {
+            log.warn("Could not clear delta token for {}: {}", mailboxKey, e.getMessage());
+        }
+    }
+
+    private Path fileFor(String mailboxKey) {
+        return directory.resolve(mailboxKey.replaceAll("[^a-zA-Z0-9._-]", "_") + ".delta");
+    }
+}
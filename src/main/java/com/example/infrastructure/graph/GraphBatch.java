@@ -0,0 +1,69 @@
+package com.example.infrastructure.graph;
+
+import com.microsoft.graph.core.content.BatchRequestContent;
+import com.microsoft.graph.core.content.BatchResponseContent;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import com.microsoft.kiota.RequestInformation;
+import com.microsoft.kiota.serialization.Parsable;
+import com.microsoft.kiota.serialization.ParsableFactory;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends many Graph requests through the {@code $batch} endpoint, up to
+ * {@link #MAX_REQUESTS} per round trip.
+ *
+ * Steps fail independently: a step that came back with an error status
+ * (throttling included) is simply missing from the result, so the caller
+ * can retry it as a direct call, which goes through the SDK's retry handler.
+ */
+public final class GraphBatch {
+
+    // Graph's limit for one $batch request
+    public static final int MAX_REQUESTS = 20;
+
+    private GraphBatch() {
+    }
+
+    /**
+     * Returns the parsed response of every successful step, keyed like {@code requests}.
+     */
+    public static <K, T extends Parsable> Map<K, T> send(
+            GraphServiceClient graphClient,
+            Map<K, RequestInformation> requests,
+            ParsableFactory<T> responseType
+    ) throws IOException {
+
+        Map<K, T> results = new HashMap<>();
+        List<Map.Entry<K, RequestInformation>> entries = new ArrayList<>(requests.entrySet());
+
+        for (int from = 0; from < entries.size(); from += MAX_REQUESTS) {
+
+            BatchRequestContent batch = new BatchRequestContent(graphClient);
+            Map<String, K> steps = new LinkedHashMap<>();
+
+            for (var entry : entries.subList(from, Math.min(from + MAX_REQUESTS, entries.size()))) {
+                steps.put(batch.addBatchRequestStep(entry.getValue()), entry.getKey());
+            }
+
+            BatchResponseContent response =
+                    graphClient.getBatchRequestBuilder().post(batch, null);
+
+            Map<String, Integer> statusCodes = response.getResponsesStatusCode();
+
+            for (var step : steps.entrySet()) {
+                Integer status = statusCodes.get(step.getKey());
+                if (status != null && status >= 200 && status < 300) {
+                    results.put(step.getValue(), response.getResponseById(step.getKey(), responseType));
+                }
+            }
+        }
+
+        return results;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.infrastructure.graph;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Lazily walks a Graph collection, fetching the next page via {@code @odata.nextLink}
+ * only once the current page has been consumed. The {@code @odata.deltaLink} of the
+ * final page is kept so delta syncs can resume from it next time.
+ */
+public final class GraphPageIterator<P, T> implements Iterator<T> {
+
+    private final Supplier<P> firstPage;
+    private final Function<String, P> pageByUrl;
+    private final Function<P, List<T>> items;
+    private final Function<P, String> nextLink;
+    private final Function<P, String> deltaLink;
+
+    private Iterator<T> current = Collections.emptyIterator();
+    private String next;
+    private String finalDeltaLink;
+    private boolean started;
+    private int pagesFetched;
+
+    public GraphPageIterator(
+            Supplier<P> firstPage,
+            Function<String, P> pageByUrl,
+            Function<P, List<T>> items,
+            Function<P, String> nextLink,
+            Function<P, String> deltaLink) {
+        this.firstPage = firstPage;
+        this.pageByUrl = pageByUrl;
+        this.items = items;
+        this.nextLink = nextLink;
+        this.deltaLink = deltaLink;
+    }
+
+    @Override
+    public boolean hasNext() {
+
+        while (!current.hasNext()) {
+
+            P page;
+
+            if (!started) {
+                started = true;
+                page = firstPage.get();
+            } else if (next != null) {
+                page = pageByUrl.apply(next);
+            } else {
+                return false;
+            }
+
+            accept(page);
+        }
+
+        return true;
+    }
+
+    @Override
+    public T next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        return current.next();
+    }
+
+    /**
+     * The delta link returned with the last page, or null until the collection has
+     * been fully consumed (or when the collection is not a delta query).
+     */
+    public String getDeltaLink() {
+        return finalDeltaLink;
+    }
+
+    public int getPagesFetched() {
+        return pagesFetched;
+    }
+
+    private void accept(P page) {
+
+        pagesFetched++;
+
+        if (page == null) {
+            next = null;
+            current = Collections.emptyIterator();
+            return;
+        }
+
+        List<T> values = items.apply(page);
+        current = values != null ? values.iterator() : Collections.emptyIterator();
+        next = nextLink.apply(page);
+
+        if (next == null && deltaLink != null) {
+            finalDeltaLink = deltaLink.apply(page);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.example.infrastructure.storage;
+
+import java.util.HexFormat;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over SHA-256 hex digests. A digest is already uniformly
+ * distributed, so its first 16 bytes serve directly as the two base hashes
+ * for double hashing; nothing is hashed again.
+ *
+ * {@link #mightContain} never returns false for an added digest, and returns
+ * true for an unknown one with roughly the configured probability.
+ * Thread-safe without locking.
+ */
+class DigestBloomFilter {
+
+    private final AtomicLongArray bits;
+    private final long bitCount;
+    private final int hashCount;
+
+    DigestBloomFilter(long expectedInsertions, double falsePositiveRate) {
+
+        long n = Math.max(1, expectedInsertions);
+        long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+
+        this.bitCount = Math.max(64, (m + 63) / 64 * 64);
+        this.bits = new AtomicLongArray((int) (bitCount / 64));
+        this.hashCount = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+    }
+
+    void add(String sha256Hex) {
+
+        long h1 = hash(sha256Hex, 0);
+        long h2 = hash(sha256Hex, 16);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+
+            long current;
+            while (((current = bits.get(word)) & mask) == 0
+                    && !bits.compareAndSet(word, current, current | mask)) {
+                // lost a race on this word; retry
+            }
+        }
+    }
+
+    boolean mightContain(String sha256Hex) {
+
+        long h1 = hash(sha256Hex, 0);
+        long h2 = hash(sha256Hex, 16);
+
+        for (int i = 0; i < hashCount; i++) {
+            long bit = Math.floorMod(h1 + i * h2, bitCount);
+            if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // 8 bytes (16 hex chars) of the digest starting at the given char offset
+    private static long hash(String hex, int offset) {
+        return HexFormat.fromHexDigitsToLong(hex, offset, offset + 16) | 1;
+    }
+}
@@ -1,13 +1,16 @@
 package com.example.infrastructure.storage;
 
-import java.io.File;
 import java.io.InputStream;
+import java.util.concurrent.CompletableFuture;
 
 public interface S3StorageService {
 
-    S3UploadResult upload(File file, String source);
+    S3UploadResult upload(byte[] content, String fileName, String source);
+
+    CompletableFuture<S3UploadResult> uploadAsync(byte[] content, String fileName, String source);
 
     InputStream download(String objectKey);
 
+    // No-op for content-addressed keys: other candidates may share the object
     void delete(String objectKey);
 }
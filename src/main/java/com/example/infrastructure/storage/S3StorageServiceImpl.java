@@ -1,21 +1,41 @@
 package com.example.infrastructure.storage;
 
+import com.example.util.ContentDigest;
+import com.example.util.DocumentFormat;
+import com.example.util.Futures;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.stereotype.Service;
-import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
 import software.amazon.awssdk.services.s3.model.DeleteObjectRequest;
 import software.amazon.awssdk.services.s3.model.GetObjectRequest;
+import software.amazon.awssdk.services.s3.model.HeadObjectRequest;
+import software.amazon.awssdk.services.s3.model.NoSuchKeyException;
 import software.amazon.awssdk.services.s3.model.PutObjectRequest;
+import software.amazon.awssdk.services.s3.model.S3Exception;
+import software.amazon.awssdk.services.s3.model.S3Object;
 
-import java.io.File;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
 import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Service
 public class S3StorageServiceImpl implements S3StorageService {
 
+    private static final Logger log = LoggerFactory.getLogger(S3StorageServiceImpl.class);
+
+    private static final String CONTENT_ADDRESSED_FOLDER = "sha256";
+
     private final S3Client s3Client;
+    private final S3AsyncClient s3AsyncClient;
+    private final DigestBloomFilter knownDigests;
 
     @Value("${aws.s3.bucket}")
     private String bucket;
@@ -23,32 +43,148 @@ public class S3StorageServiceImpl implements S3StorageService {
     @Value("${aws.s3.base-folder}")
     private String baseFolder;
 
-    public S3StorageServiceImpl(S3Client s3Client) {
+    // Objects keyed by content digest instead of UUID + file name
+    @Value("${aws.s3.content-addressed.enabled:false}")
+    private boolean contentAddressed;
+
+    public S3StorageServiceImpl(
+            S3Client s3Client,
+            S3AsyncClient s3AsyncClient,
+            @Value("${aws.s3.content-addressed.expected-objects:1000000}") long expectedObjects,
+            @Value("${aws.s3.content-addressed.false-positive-rate:0.01}") double falsePositiveRate) {
         this.s3Client = s3Client;
+        this.s3AsyncClient = s3AsyncClient;
+        this.knownDigests = new DigestBloomFilter(expectedObjects, falsePositiveRate);
+    }
+
+    @Override
+    public S3UploadResult upload(byte[] content, String fileName, String source) {
+        return Futures.join(uploadAsync(content, fileName, source));
     }
 
     @Override
-    public S3UploadResult upload(File file, String source) {
-        String objectKey = generateObjectKey(file.getName(), source);
+    public CompletableFuture<S3UploadResult> uploadAsync(byte[] content, String fileName, String source) {
+
+        if (contentAddressed) {
+            return uploadContentAddressed(content, fileName);
+        }
+
+        return put(content, generateObjectKey(fileName, source), fileName);
+    }
+
+    /**
+     * Same bytes, same key: the object is named after its SHA-256, so a resume
+     * that is already stored is not sent again. Digests not in the bloom filter
+     * are uploaded straight away; a filter hit is confirmed with a HEAD, since
+     * it may be a false positive.
+     */
+    private CompletableFuture<S3UploadResult> uploadContentAddressed(byte[] content, String fileName) {
+
+        String digest = ContentDigest.sha256Hex(content);
+        String objectKey = contentAddressedKey(digest, DocumentFormat.detect(content));
+
+        CompletableFuture<Boolean> stored =
+                knownDigests.mightContain(digest)
+                        ? exists(objectKey)
+                        : CompletableFuture.completedFuture(false);
+
+        return stored.thenCompose(found -> {
+
+            if (found) {
+                log.info("Resume {} already stored as {}; skipping upload", digest, objectKey);
+                return CompletableFuture.completedFuture(
+                        new S3UploadResult(bucket, objectKey, content.length, detectContentType(content, fileName)));
+            }
+
+            return put(content, objectKey, fileName)
+                    .thenApply(result -> {
+                        knownDigests.add(digest);
+                        return result;
+                    });
+        });
+    }
+
+    private CompletableFuture<S3UploadResult> put(byte[] content, String objectKey, String fileName) {
 
         // 1. Detect the REAL content type using your helper method
-        String contentType = detectContentType(file.getName());
+        String contentType = detectContentType(content, fileName);
 
-        try {
-            PutObjectRequest request = PutObjectRequest.builder()
-                    .bucket(bucket)
-                    .key(objectKey)
-                    .contentType(contentType) 
-                    .build();
+        PutObjectRequest request = PutObjectRequest.builder()
+                .bucket(bucket)
+                .key(objectKey)
+                .contentType(contentType)
+                .contentLength((long) content.length)
+                .build();
 
-            s3Client.putObject(request, RequestBody.fromFile(file));
+        // Stream straight from the in-memory buffer without copying it; the CRT
+        // client switches to a parallel multipart upload above the part size
+        return s3AsyncClient.putObject(
+                        request,
+                        AsyncRequestBody.fromByteBufferUnsafe(ByteBuffer.wrap(content))
+                )
+                // 2. Return the correct content type in the result
+                .handle((response, error) -> {
+                    if (error != null) {
+                        Throwable cause = unwrap(error);
+                        throw new RuntimeException("Failed to upload to S3: " + cause.getMessage(), cause);
+                    }
+                    return new S3UploadResult(bucket, objectKey, content.length, contentType);
+                });
+    }
+
+    private CompletableFuture<Boolean> exists(String objectKey) {
+
+        return s3AsyncClient.headObject(HeadObjectRequest.builder()
+                        .bucket(bucket)
+                        .key(objectKey)
+                        .build())
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return true;
+                    }
+                    Throwable cause = unwrap(error);
+                    if (cause instanceof NoSuchKeyException ||
+                            (cause instanceof S3Exception s3 && s3.statusCode() == 404)) {
+                        return false;
+                    }
+                    throw new RuntimeException("Failed to check S3 object: " + cause.getMessage(), cause);
+                });
+    }
 
-            // 2. Return the correct content type in the result
-            return new S3UploadResult(bucket, objectKey, file.length(), contentType);
+    /**
+     * Loads the digests of every content-addressed object into the bloom
+     * filter, so duplicates of resumes stored before this start are caught.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void seedKnownDigests() {
 
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to upload to S3: " + e.getMessage(), e);
+        if (!contentAddressed) {
+            return;
         }
+
+        Thread.ofVirtual().name("s3-digest-seed").start(() -> {
+
+            String prefix = baseFolder + "/" + CONTENT_ADDRESSED_FOLDER + "/";
+            long seeded = 0;
+
+            try {
+                for (S3Object object : s3Client.listObjectsV2Paginator(r -> r.bucket(bucket).prefix(prefix)).contents()) {
+
+                    String name = object.key().substring(prefix.length());
+                    int dot = name.indexOf('.');
+                    String digest = dot < 0 ? name : name.substring(0, dot);
+
+                    if (digest.length() == 64) {
+                        knownDigests.add(digest);
+                        seeded++;
+                    }
+                }
+                log.info("Seeded S3 digest filter with {} stored resume(s)", seeded);
+
+            } catch (Exception e) {
+                log.warn("Could not seed S3 digest filter after {} object(s): {}", seeded, e.getMessage());
+            }
+        });
     }
 
     @Override
@@ -62,9 +198,19 @@ public class S3StorageServiceImpl implements S3StorageService {
         return s3Client.getObject(request);
     }
 
+    /**
+     * Content-addressed objects are shared by every candidate who sent the
+     * same file, and nothing counts their references, so they are never
+     * deleted here; only per-upload (UUID) keys are.
+     */
     @Override
     public void delete(String objectKey) {
 
+        if (objectKey.startsWith(baseFolder + "/" + CONTENT_ADDRESSED_FOLDER + "/")) {
+            log.info("Keeping shared content-addressed object {}", objectKey);
+            return;
+        }
+
         DeleteObjectRequest request = DeleteObjectRequest.builder()
                 .bucket(bucket)
                 .key(objectKey)
@@ -79,7 +225,18 @@ public class S3StorageServiceImpl implements S3StorageService {
         return String.format("%s/%s/%s-%s", baseFolder, source.toLowerCase(), UUID.randomUUID(), filename);
     }
 
-    private String detectContentType(String filename) {
+    // Extension from the detected format, never the sender's file name, so the same bytes get one key
+    private String contentAddressedKey(String digest, DocumentFormat format) {
+        return String.format("%s/%s/%s%s", baseFolder, CONTENT_ADDRESSED_FOLDER, digest, format.extension());
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private String detectContentType(byte[] content, String filename) {
+        DocumentFormat format = DocumentFormat.detect(content);
+        if (format != DocumentFormat.UNKNOWN) return format.mimeType();
         if (filename.endsWith(".pdf")) return "application/pdf";
         if (filename.endsWith(".doc")) return "application/msword";
         if (filename.endsWith(".docx"))
@@ -0,0 +1,8 @@
+package com.example.model;
+
+public enum AssessmentStatus {
+    PENDING,
+    RETRYING,
+    COMPLETED,
+    FAILED
+}
@@ -21,7 +21,14 @@ public class Candidate {
     private String status;
     private String createdAt;
     private Double atsScore;
+    private String resumeSha256;
 
+    // Assessment generation, run asynchronously after ingestion
+    private String assessmentStatus;
+    private Integer assessmentAttempts;
+    private String assessmentFormUrl;
+    private String assessmentError;
+    private String assessmentUpdatedAt;
 
     // Partition Key
     @DynamoDbPartitionKey
@@ -54,6 +61,8 @@ public class Candidate {
         c.status = status;
         c.createdAt = Instant.now().toString();
         c.atsScore = null;
+        c.assessmentStatus = AssessmentStatus.PENDING.name();
+        c.assessmentAttempts = 0;
         return c;
     }
 }
\ No newline at end of file
@@ -0,0 +1,37 @@
+package com.example.model;
+
+import software.amazon.awssdk.enhanced.dynamodb.mapper.annotations.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Uniqueness marker for a candidate email: one item per (normalized) email,
+ * pointing at the candidate that owns it.
+ */
+@Data
+@NoArgsConstructor
+@DynamoDbBean
+public class CandidateEmailClaim {
+
+    private String email;
+    private String candidateId;
+    private String claimedAt;
+
+
+    // Partition Key
+    @DynamoDbPartitionKey
+    public String getEmail() {
+        return email;
+    }
+
+
+    public static CandidateEmailClaim of(String email, String candidateId) {
+        CandidateEmailClaim c = new CandidateEmailClaim();
+        c.email = email;
+        c.candidateId = candidateId;
+        c.claimedAt = Instant.now().toString();
+        return c;
+    }
+}
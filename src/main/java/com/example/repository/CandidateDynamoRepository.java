@@ -1,45 +1,175 @@
 package com.example.repository;
 
 import com.example.model.Candidate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Repository;
-import software.amazon.awssdk.core.pagination.sync.SdkIterable;
 import software.amazon.awssdk.enhanced.dynamodb.*;
-import software.amazon.awssdk.enhanced.dynamodb.model.Page;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
 import software.amazon.awssdk.enhanced.dynamodb.model.QueryConditional;
+import software.amazon.awssdk.enhanced.dynamodb.model.QueryEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.WriteBatch;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 @Repository
 public class CandidateDynamoRepository {
 
+    private static final Logger log = LoggerFactory.getLogger(CandidateDynamoRepository.class);
+
+    // BatchWriteItem hard limit
+    public static final int MAX_BATCH_WRITE = 25;
+
+    private final DynamoDbEnhancedClient client;
     private final DynamoDbTable<Candidate> table;
+    private final DynamoDbIndex<Candidate> emailIndex;
+
+    private final int maxBatchAttempts;
+    private final long batchRetryBaseMillis;
 
-    public CandidateDynamoRepository(DynamoDbEnhancedClient client) {
+    public CandidateDynamoRepository(
+            DynamoDbEnhancedClient client,
+            @Value("${dynamodb.batch.max-attempts:6}") int maxBatchAttempts,
+            @Value("${dynamodb.batch.retry-base-millis:50}") long batchRetryBaseMillis
+    ) {
+        this.client = client;
         this.table = client.table(
                 "Candidates",
                 TableSchema.fromBean(Candidate.class)
         );
+        this.emailIndex = table.index("email-index");
+        this.maxBatchAttempts = maxBatchAttempts;
+        this.batchRetryBaseMillis = batchRetryBaseMillis;
     }
 
-    public void save(Candidate candidate) {
-        table.putItem(candidate);
-    }
+    /**
+     * Writes candidates with BatchWriteItem, 25 per request. Items DynamoDB
+     * returns as unprocessed (throttling, partition limits) are resent with
+     * exponential backoff. A request that fails outright is resent whole, which
+     * is safe because puts are idempotent. Whatever is still left after
+     * {@code dynamodb.batch.max-attempts}, or when the thread is interrupted,
+     * is returned rather than thrown, since earlier requests may already have
+     * stored the rest.
+     */
+    public BatchSaveResult saveAll(Collection<Candidate> candidates) {
 
-    public boolean existsByEmail(String email) {
+        List<Candidate> all = new ArrayList<>(candidates);
+        List<Candidate> unprocessed = new ArrayList<>();
+        RuntimeException failure = null;
+
+        for (int from = 0; from < all.size(); from += MAX_BATCH_WRITE) {
+
+            int to = Math.min(from + MAX_BATCH_WRITE, all.size());
+            List<Candidate> pending = all.subList(from, to);
+            RuntimeException lastError = null;
+
+            for (int attempt = 1; !pending.isEmpty(); attempt++) {
+
+                if (attempt > maxBatchAttempts) {
+                    log.warn("{} candidate(s) still unprocessed after {} batch write attempts",
+                            pending.size(), maxBatchAttempts);
+                    unprocessed.addAll(pending);
+                    if (lastError != null) {
+                        failure = lastError;
+                    }
+                    break;
+                }
+
+                if (attempt > 1 && !backoff(attempt)) {
+                    // Interrupted: give up on this chunk and every one after it
+                    log.warn("Interrupted while retrying batch write; {} candidate(s) left unwritten",
+                            pending.size() + all.size() - to);
+                    unprocessed.addAll(pending);
+                    unprocessed.addAll(all.subList(to, all.size()));
+                    return new BatchSaveResult(unprocessed,
+                            new RuntimeException("Interrupted while retrying batch write"));
+                }
+
+                WriteBatch.Builder<Candidate> batch =
+                        WriteBatch.builder(Candidate.class).mappedTableResource(table);
+
+                pending.forEach(batch::addPutItem);
+
+                try {
+                    BatchWriteResult result =
+                            client.batchWriteItem(r -> r.addWriteBatch(batch.build()));
+
+                    pending = result.unprocessedPutItemsForTable(table);
+                    lastError = null;
 
-        SdkIterable<Page<Candidate>> pages =
-                table.index("email-index")
-                        .query(r -> r.queryConditional(
-                                QueryConditional.keyEqualTo(
-                                        k -> k.partitionValue(email)
-                                )
-                        ));
-
-        for (Page<Candidate> page : pages) {
-            if (!page.items().isEmpty()) {
-                return true;
+                } catch (RuntimeException e) {
+                    // Unknown which items landed; resend all of them
+                    log.warn("Batch write attempt {} of {} candidate(s) failed: {}",
+                            attempt, pending.size(), e.getMessage(), e);
+                    lastError = e;
+                    continue;
+                }
+
+                if (!pending.isEmpty()) {
+                    log.info("Batch write attempt {}: {} unprocessed candidate(s)", attempt, pending.size());
+                }
             }
         }
 
-        return false;
+        return new BatchSaveResult(unprocessed, failure);
+    }
+
+    public Optional<Candidate> findById(String candidateId) {
+        return Optional.ofNullable(table.getItem(Key.builder().partitionValue(candidateId).build()));
+    }
+
+    /**
+     * Writes only the non-null attributes of the given item, leaving the rest
+     * of the stored candidate as it is.
+     */
+    public void updatePartial(Candidate changes) {
+        table.updateItem(r -> r.item(changes).ignoreNulls(true));
+    }
+
+    /**
+     * Whether a candidate with this email is stored. Only needed for candidates
+     * saved before email claims existed, until the claim backfill has run.
+     */
+    public boolean existsByEmail(String email) {
+
+        // One item answers the question; don't page through every match
+        return emailIndex.query(
+                        QueryEnhancedRequest.builder()
+                                .queryConditional(QueryConditional.keyEqualTo(
+                                        k -> k.partitionValue(email)))
+                                .limit(1)
+                                .build())
+                .stream()
+                .findFirst()
+                .map(page -> !page.items().isEmpty())
+                .orElse(false);
+    }
+
+    /**
+     * Full table scan, paged lazily by the SDK. Meant for one-off maintenance jobs.
+     */
+    public Iterable<Candidate> findAll() {
+        return table.scan().items();
+    }
+
+    // False when interrupted; the interrupt flag is kept for the caller
+    private boolean backoff(int attempt) {
+        try {
+            Thread.sleep(batchRetryBaseMillis << Math.min(attempt - 2, 10));
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
+    /**
+     * Outcome of {@link #saveAll}: the candidates that were not written (empty
+     * when all were) and, when known, the error that left them so.
+     */
+    public record BatchSaveResult(List<Candidate> unprocessed, RuntimeException failure) {}
 }
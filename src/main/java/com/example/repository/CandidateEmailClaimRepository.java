@@ -0,0 +1,85 @@
+package com.example.repository;
+
+import com.example.model.CandidateEmailClaim;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+import software.amazon.awssdk.enhanced.dynamodb.*;
+import software.amazon.awssdk.enhanced.dynamodb.model.DeleteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.PutItemEnhancedRequest;
+import software.amazon.awssdk.services.dynamodb.model.AttributeValue;
+import software.amazon.awssdk.services.dynamodb.model.ConditionalCheckFailedException;
+
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Email uniqueness for candidates, enforced by DynamoDB itself: claiming an
+ * email is a single put conditioned on {@code attribute_not_exists(email)},
+ * so exactly one of any number of concurrent writers, on any node, wins.
+ */
+@Repository
+public class CandidateEmailClaimRepository {
+
+    private static final Expression NOT_CLAIMED =
+            Expression.builder()
+                    .expression("attribute_not_exists(email)")
+                    .build();
+
+    private final DynamoDbTable<CandidateEmailClaim> table;
+
+    public CandidateEmailClaimRepository(
+            DynamoDbEnhancedClient client,
+            @Value("${dynamodb.email-claims.table:CandidateEmails}") String tableName
+    ) {
+        this.table = client.table(
+                tableName,
+                TableSchema.fromBean(CandidateEmailClaim.class)
+        );
+    }
+
+    /**
+     * Claims the email for the candidate. Returns false if it already belongs
+     * to someone, i.e. the candidate is a duplicate.
+     */
+    public boolean claim(String email, String candidateId) {
+
+        try {
+            table.putItem(PutItemEnhancedRequest.builder(CandidateEmailClaim.class)
+                    .item(CandidateEmailClaim.of(normalize(email), candidateId))
+                    .conditionExpression(NOT_CLAIMED)
+                    .build());
+            return true;
+
+        } catch (ConditionalCheckFailedException e) {
+            return false;
+        }
+    }
+
+    public boolean isClaimed(String email) {
+        return table.getItem(Key.builder().partitionValue(normalize(email)).build()) != null;
+    }
+
+    /**
+     * Gives the email back, but only if this candidate still holds it.
+     */
+    public void release(String email, String candidateId) {
+
+        try {
+            table.deleteItem(DeleteItemEnhancedRequest.builder()
+                    .key(k -> k.partitionValue(normalize(email)))
+                    .conditionExpression(Expression.builder()
+                            .expression("candidateId = :candidateId")
+                            .expressionValues(Map.of(
+                                    ":candidateId", AttributeValue.fromS(candidateId)))
+                            .build())
+                    .build());
+
+        } catch (ConditionalCheckFailedException ignored) {
+            // claimed by someone else in the meantime; not ours to delete
+        }
+    }
+
+    static String normalize(String email) {
+        return email.trim().toLowerCase(Locale.ROOT);
+    }
+}
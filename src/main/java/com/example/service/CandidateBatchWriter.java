@@ -0,0 +1,165 @@
+package com.example.service;
+
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import com.example.util.Futures;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Groups candidate saves from concurrently processed resumes into
+ * BatchWriteItem calls of up to {@code dynamodb.batch.size} items.
+ *
+ * A batch is written as soon as it is full, or {@code dynamodb.batch.linger}
+ * after its first candidate arrived, whichever comes first. Callers of
+ * {@link #save} block until their batch is written, so a resume only counts
+ * as processed once its candidate is in DynamoDB.
+ */
+@Component
+public class CandidateBatchWriter {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateBatchWriter.class);
+
+    private final CandidateDynamoRepository repository;
+    private final int batchSize;
+    private final long lingerMillis;
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "candidate-batch-flush");
+                t.setDaemon(true);
+                return t;
+            });
+
+    private final Object lock = new Object();
+    private List<PendingSave> buffer = new ArrayList<>();
+    private ScheduledFuture<?> lingerFlush;
+
+    public CandidateBatchWriter(
+            CandidateDynamoRepository repository,
+            @Value("${dynamodb.batch.size:25}") int batchSize,
+            @Value("${dynamodb.batch.linger:200ms}") Duration linger
+    ) {
+        this.repository = repository;
+        this.batchSize = Math.max(1, Math.min(batchSize, CandidateDynamoRepository.MAX_BATCH_WRITE));
+        this.lingerMillis = linger.toMillis();
+    }
+
+    /**
+     * Saves the candidate as part of the next batch and waits for that batch.
+     */
+    public void save(Candidate candidate) {
+        Futures.join(enqueue(candidate));
+    }
+
+    public CompletableFuture<Void> enqueue(Candidate candidate) {
+
+        PendingSave pending = new PendingSave(candidate, new CompletableFuture<>());
+        List<PendingSave> full = null;
+
+        synchronized (lock) {
+
+            buffer.add(pending);
+
+            if (buffer.size() >= batchSize) {
+                full = takeBuffer();
+            } else if (buffer.size() == 1) {
+                lingerFlush = scheduler.schedule(this::flush, lingerMillis, TimeUnit.MILLISECONDS);
+            }
+        }
+
+        if (full != null) {
+            write(full);
+        }
+
+        return pending.saved();
+    }
+
+    /**
+     * Writes whatever is buffered right now.
+     */
+    public void flush() {
+
+        List<PendingSave> batch;
+
+        synchronized (lock) {
+            batch = takeBuffer();
+        }
+
+        write(batch);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+        scheduler.shutdown();
+    }
+
+    // Caller holds the lock
+    private List<PendingSave> takeBuffer() {
+
+        if (lingerFlush != null) {
+            lingerFlush.cancel(false);
+            lingerFlush = null;
+        }
+
+        List<PendingSave> batch = buffer;
+        buffer = new ArrayList<>();
+        return batch;
+    }
+
+    private void write(List<PendingSave> batch) {
+
+        if (batch.isEmpty()) {
+            return;
+        }
+
+        CandidateDynamoRepository.BatchSaveResult result;
+
+        try {
+            result = repository.saveAll(batch.stream().map(PendingSave::candidate).toList());
+
+        } catch (RuntimeException e) {
+            // saveAll reports write failures in its result; anything thrown here is unexpected
+            log.error("Batch save of {} candidate(s) failed: {}", batch.size(), e.getMessage(), e);
+            batch.forEach(p -> p.saved().completeExceptionally(e));
+            return;
+        }
+
+        // Unprocessed items may come back as new instances, so match them by id.
+        // Only their callers fail; every other candidate is already written
+        Set<String> failedIds = result.unprocessed().stream()
+                .map(Candidate::getCandidateId)
+                .collect(Collectors.toSet());
+
+        RuntimeException failure = failedIds.isEmpty() ? null : new RuntimeException(
+                "Candidate not written by the batch write", result.failure());
+
+        for (PendingSave p : batch) {
+            if (failedIds.contains(p.candidate().getCandidateId())) {
+                p.saved().completeExceptionally(failure);
+            } else {
+                p.saved().complete(null);
+            }
+        }
+
+        log.info("Saved batch of {} candidate(s), {} unprocessed",
+                batch.size() - failedIds.size(), failedIds.size());
+    }
+
+    private record PendingSave(Candidate candidate, CompletableFuture<Void> saved) {}
+}
@@ -0,0 +1,112 @@
+package com.example.service;
+
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import com.example.repository.CandidateEmailClaimRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Claims the emails of candidates saved before email claims existed, so they
+ * are recognised as duplicates too. Idempotent; only runs when enabled.
+ *
+ * A pass that claimed every candidate without errors leaves a marker item in
+ * the claims table, so later starts skip the scan. Until then
+ * {@link #isComplete()} is false and intake also looks emails up in the
+ * Candidates table.
+ */
+@Component
+public class CandidateEmailClaimBackfill {
+
+    private static final Logger log = LoggerFactory.getLogger(CandidateEmailClaimBackfill.class);
+
+    // Not a valid email, so no candidate can ever claim it
+    static final String COMPLETE_MARKER = "#backfill-complete";
+
+    private final CandidateDynamoRepository repository;
+    private final CandidateEmailClaimRepository emailClaims;
+
+    @Value("${dynamodb.email-claims.backfill-from-history:true}")
+    private boolean enabled;
+
+    private volatile boolean complete;
+
+    public CandidateEmailClaimBackfill(
+            CandidateDynamoRepository repository,
+            CandidateEmailClaimRepository emailClaims) {
+        this.repository = repository;
+        this.emailClaims = emailClaims;
+    }
+
+    /**
+     * Whether every candidate saved before claims existed holds its claim.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        try {
+            complete = emailClaims.isClaimed(COMPLETE_MARKER);
+        } catch (Exception e) {
+            log.warn("Could not check email claim backfill marker: {}", e.getMessage(), e);
+        }
+
+        if (complete || !enabled) {
+            return;
+        }
+
+        Thread.ofVirtual().name("email-claim-backfill").start(this::backfill);
+    }
+
+    private void backfill() {
+
+        int claimed = 0;
+        int alreadyClaimed = 0;
+        int failed = 0;
+
+        try {
+            for (Candidate candidate : repository.findAll()) {
+
+                if (candidate.getEmail() == null) {
+                    continue;
+                }
+
+                try {
+                    if (emailClaims.claim(candidate.getEmail(), candidate.getCandidateId())) {
+                        claimed++;
+                    } else {
+                        alreadyClaimed++;
+                    }
+                } catch (Exception e) {
+                    failed++;
+                    log.warn("Could not claim email of candidate {}: {}", candidate.getCandidateId(), e.getMessage());
+                }
+            }
+        } catch (Exception e) {
+            log.warn("Email claim backfill stopped after {} claim(s): {}", claimed, e.getMessage(), e);
+            return;
+        }
+
+        log.info("Email claim backfill done: {} claimed, {} already claimed, {} failed",
+                claimed, alreadyClaimed, failed);
+
+        if (failed > 0) {
+            // Runs again on the next start; intake keeps checking the Candidates table until then
+            return;
+        }
+
+        try {
+            emailClaims.claim(COMPLETE_MARKER, "backfill");
+            complete = true;
+        } catch (Exception e) {
+            log.warn("Could not record email claim backfill as complete: {}", e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.example.service;
+
+import com.example.ats.index.DocumentFrequencyIndex;
+import com.example.ats.scorer.CosineSimilarityCalculator;
+import com.example.infrastructure.storage.S3StorageService;
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+
+/**
+ * Seeds the IDF index from every candidate already in DynamoDB, by re-reading
+ * their resumes from S3. Only runs when enabled and the index is still empty,
+ * i.e. on the first start after the index was introduced or after its snapshot
+ * file was deleted.
+ */
+@Component
+public class DocumentFrequencyBootstrap {
+
+    private static final Logger log = LoggerFactory.getLogger(DocumentFrequencyBootstrap.class);
+
+    private final DocumentFrequencyIndex index;
+    private final CandidateDynamoRepository repository;
+    private final S3StorageService s3Service;
+    private final ResumeTextExtractor extractor;
+    private final CosineSimilarityCalculator cosine;
+
+    @Value("${ats.idf.bootstrap-from-history:false}")
+    private boolean enabled;
+
+    public DocumentFrequencyBootstrap(
+            DocumentFrequencyIndex index,
+            CandidateDynamoRepository repository,
+            S3StorageService s3Service,
+            ResumeTextExtractor extractor,
+            CosineSimilarityCalculator cosine) {
+        this.index = index;
+        this.repository = repository;
+        this.s3Service = s3Service;
+        this.extractor = extractor;
+        this.cosine = cosine;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+
+        if (!enabled || index.snapshot().documentCount() > 0) {
+            return;
+        }
+
+        Thread.ofVirtual().name("idf-bootstrap").start(this::rebuild);
+    }
+
+    private void rebuild() {
+
+        int indexed = 0;
+        int failed = 0;
+
+        for (Candidate candidate : repository.findAll()) {
+
+            if (candidate.getResumeS3Key() == null) {
+                continue;
+            }
+
+            try (InputStream resume = s3Service.download(candidate.getResumeS3Key())) {
+
+                String text = extractor.extractText(candidate.getResumeS3Key(), resume);
+                index.addDocument(cosine.termCounts(text));
+                indexed++;
+
+            } catch (Exception e) {
+                failed++;
+                log.warn("Skipping {} while seeding IDF index: {}", candidate.getResumeS3Key(), e.getMessage());
+            }
+        }
+
+        index.publish();
+        log.info("IDF index seeded from history: {} resumes indexed, {} skipped", indexed, failed);
+    }
+}
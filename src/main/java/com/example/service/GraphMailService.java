@@ -2,11 +2,24 @@ package com.example.service;
 
 import com.azure.core.credential.AccessToken;
 import com.azure.core.credential.TokenCredential;
+import com.example.config.GraphMailProperties;
+import com.example.infrastructure.graph.DeltaTokenStore;
+import com.example.infrastructure.graph.GraphBatch;
+import com.example.infrastructure.graph.GraphPageIterator;
+import com.example.service.sync.MailSyncJob;
 import com.microsoft.graph.models.Attachment;
+import com.microsoft.graph.models.AttachmentCollectionResponse;
 import com.microsoft.graph.models.FileAttachment;
 import com.microsoft.graph.models.Message;
+import com.microsoft.graph.models.MessageCollectionResponse;
 import com.microsoft.graph.serviceclient.GraphServiceClient;
+import com.microsoft.graph.users.item.UserItemRequestBuilder;
+import com.microsoft.graph.users.item.mailfolders.item.messages.delta.DeltaGetResponse;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.RequestInformation;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.authentication.OAuth2AuthenticationToken;
@@ -14,215 +27,894 @@ import org.springframework.stereotype.Service;
 
 import reactor.core.publisher.Mono;
 
-import java.io.File;
-import java.io.FileOutputStream;
-import java.io.OutputStream;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 @Service
 public class GraphMailService {
 
+    private static final Logger log = LoggerFactory.getLogger(GraphMailService.class);
+
+    private static final String DEFAULT_TENANT = "common";
+    private static final int HTTP_GONE = 410;
+
+    private static final String[] MESSAGE_FIELDS = {
+            "id", "subject", "from", "hasAttachments", "isRead"
+    };
+
+    // Attachment metadata only; content bytes are downloaded for accepted resumes alone
+    private static final String[] ATTACHMENT_FIELDS = {
+            "id", "name", "contentType", "size", "isInline"
+    };
+
+    // Attachments come back with the message list (plain listing only; delta queries can't expand)
+    private static final String[] MESSAGE_EXPAND = {
+            "attachments($select=" + String.join(",", ATTACHMENT_FIELDS) + ")"
+    };
+
+    private static final String FILE_ATTACHMENT_TYPE = "#microsoft.graph.fileAttachment";
+
     private final OAuth2AuthorizedClientService clientService;
     private final ResumeProcessingService resumeProcessingService;
+    private final GraphTenantLimiter tenantLimiter;
+    private final DeltaTokenStore deltaTokenStore;
+    private final GraphMailProperties properties;
+
+    // Mailboxes with a sync in progress; a second sync of the same mailbox is skipped
+    private final Set<String> syncing = ConcurrentHashMap.newKeySet();
 
     public GraphMailService(
             OAuth2AuthorizedClientService clientService,
-            ResumeProcessingService resumeProcessingService
+            ResumeProcessingService resumeProcessingService,
+            GraphTenantLimiter tenantLimiter,
+            DeltaTokenStore deltaTokenStore,
+            GraphMailProperties properties
     ) {
         this.clientService = clientService;
         this.resumeProcessingService = resumeProcessingService;
+        this.tenantLimiter = tenantLimiter;
+        this.deltaTokenStore = deltaTokenStore;
+        this.properties = properties;
+    }
+
+    /**
+     * Key under which a mailbox is synced and its delta link stored: tenant and
+     * user object id. The same mailbox gets the same key whether it is reached
+     * as the signed-in user or by the app-only poller, so both share the
+     * single-flight guard and the delta state.
+     */
+    public static String mailboxKey(String tenantId, String userObjectId) {
+        return (tenantId + "_" + userObjectId).toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * {@link #mailboxKey(String, String)} of the signed-in user's mailbox.
+     */
+    public String mailboxKey(OAuth2AuthenticationToken authentication) {
+
+        Object objectId = authentication.getPrincipal().getAttribute("oid");
+
+        if (objectId == null) {
+            // Not in the ID token: ask Graph who the signed-in user is
+            GraphServiceClient graphClient = graphClientFor(authentication);
+
+            if (graphClient == null) {
+                throw new IllegalStateException("No authorized OAuth client for " + authentication.getName());
+            }
+
+            objectId = graphClient.me()
+                    .get(config -> config.queryParameters.select = new String[] {"id"})
+                    .getId();
+        }
+
+        return mailboxKey(resolveTenantId(authentication), objectId.toString());
     }
 
-    public void fetchUnreadEmailsAndDownloadResumes(OAuth2AuthenticationToken authentication) {
+    /**
+     * Syncs the signed-in user's mailbox, reporting progress on {@code job}.
+     * Returns false when that mailbox was already being synced.
+     */
+    public boolean fetchUnreadEmailsAndDownloadResumes(OAuth2AuthenticationToken authentication, MailSyncJob job) {
 
         try {
 
-            // STEP 1: Get OAuth client
-            OAuth2AuthorizedClient client =
-                    clientService.loadAuthorizedClient(
-                            authentication.getAuthorizedClientRegistrationId(),
-                            authentication.getName()
-                    );
+            GraphServiceClient graphClient = graphClientFor(authentication);
 
-            if (client == null) {
-                System.out.println("OAuth client is NULL");
-                return;
+            if (graphClient == null) {
+                log.warn("No authorized OAuth client for {}", authentication.getName());
+                job.failed(new IllegalStateException("No authorized OAuth client for " + authentication.getName()));
+                return true;
             }
 
-            String accessToken = client.getAccessToken().getTokenValue();
+            String tenantId = resolveTenantId(authentication);
 
-            // STEP 2: Create TokenCredential
-            TokenCredential credential = request ->
-                    Mono.just(
-                            new AccessToken(
-                                    accessToken,
-                                    OffsetDateTime.now().plusHours(1)
-                            )
-                    );
+            return syncMailbox(graphClient, graphClient.me(), tenantId, mailboxKey(authentication), job);
 
-            // STEP 3: Create Graph client
-            GraphServiceClient graphClient = new GraphServiceClient(credential);
+        } catch (Exception e) {
 
-            // STEP 4: Ensure resumes folder exists
-            File tempDir = new File("resumes");
-            if (!tempDir.exists())
-                tempDir.mkdirs();
+            log.error("Error while fetching emails: {}", e.getMessage(), e);
+            job.failed(e);
+            return true;
+        }
+    }
 
-            // STEP 5: Fetch only UNREAD emails
-            var messages = graphClient
-                    .me()
-                    .messages()
-                    .get(config -> {
-                        config.queryParameters.filter = "isRead eq false";
-                        config.queryParameters.top = 50;
-                    });
+    /**
+     * Graph client acting as the signed-in user, or null when they have no
+     * authorized OAuth client.
+     */
+    private GraphServiceClient graphClientFor(OAuth2AuthenticationToken authentication) {
+
+        // STEP 1: Get OAuth client
+        OAuth2AuthorizedClient client =
+                clientService.loadAuthorizedClient(
+                        authentication.getAuthorizedClientRegistrationId(),
+                        authentication.getName()
+                );
+
+        if (client == null) {
+            return null;
+        }
+
+        String accessToken = client.getAccessToken().getTokenValue();
+
+        // STEP 2: Create TokenCredential
+        TokenCredential credential = request ->
+                Mono.just(
+                        new AccessToken(
+                                accessToken,
+                                OffsetDateTime.now().plusHours(1)
+                        )
+                );
+
+        // STEP 3: Create Graph client
+        GraphServiceClient graphClient = new GraphServiceClient(credential);
+        graphClient.getRequestAdapter().setBaseUrl(properties.getBaseUrl());
+
+        return graphClient;
+    }
 
-            if (messages == null || messages.getValue() == null) {
-                System.out.println("No unread messages found");
-                return;
+    /**
+     * Ingests the unread resumes of one mailbox: {@code me()} for a signed-in
+     * user, {@code users().byUserId(..)} for app-only access. Returns false
+     * without doing anything when the same mailbox is already being synced.
+     */
+    public boolean syncMailbox(
+            GraphServiceClient graphClient,
+            UserItemRequestBuilder mailbox,
+            String tenantId,
+            String mailboxKey,
+            MailSyncJob job
+    ) {
+
+        if (!syncing.add(mailboxKey)) {
+            log.info("Sync already running for mailbox {}, skipping", mailboxKey);
+            return false;
+        }
+
+        try {
+
+            GraphTenantLimiter.TenantPermits permits =
+                    tenantLimiter.forTenant(tenantId);
+
+            // STEP 4: Page through UNREAD emails lazily (incremental when delta sync is on)
+            long listStarted = System.nanoTime();
+
+            GraphPageIterator<?, Message> messages =
+                    unreadMessages(mailbox, mailboxKey);
+
+            boolean more = messages.hasNext();
+            job.recordStage("list-messages", listStarted);
+
+            if (!more) {
+                log.info("No unread messages found");
             }
 
-            // STEP 6: Loop messages
-            for (Message message : messages.getValue()) {
+            AtomicInteger failedMessages = new AtomicInteger();
+            Queue<Message> toMarkRead = new ConcurrentLinkedQueue<>();
 
-                String messageId = message.getId();
-                String subject = message.getSubject();
+            // STEP 5: Fan out messages on virtual threads, capped per tenant.
+            // Messages are taken a $batch worth at a time so their attachments
+            // come in one round trip. The permit is taken before submitting so
+            // the next page is only fetched once there is capacity to work on it.
+            try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
 
-                System.out.println("\nChecking UNREAD email: " + subject);
+                List<Message> chunk = new ArrayList<>(GraphBatch.MAX_REQUESTS);
 
-                if (messageId == null)
-                    continue;
+                while (more) {
 
-                if (message.getHasAttachments() == null ||
-                        !message.getHasAttachments()) {
+                    chunk.add(messages.next());
+                    job.messageScanned();
 
-                    System.out.println("No attachments found.");
-                    continue;
+                    // Only calls that reach the next page actually hit Graph
+                    listStarted = System.nanoTime();
+                    more = messages.hasNext();
+                    job.recordStage("list-messages", listStarted);
+
+                    if (chunk.size() < GraphBatch.MAX_REQUESTS && more) {
+                        continue;
+                    }
+
+                    // STEP 6: Fetch the attachments of the whole chunk in one $batch
+                    Map<String, List<Attachment>> attachments =
+                            attachmentsOf(graphClient, mailbox, chunk, job);
+
+                    // ...and the content of the accepted ones in as few more round trips
+                    Map<String, Map<String, Download>> downloads =
+                            downloadsOf(graphClient, mailbox, chunk, attachments, permits, job);
+
+                    try {
+                        for (Message message : chunk) {
+
+                            permits.acquireMessage();
+
+                            executor.submit(() -> {
+                                try {
+                                    if (!processMessage(mailbox, message, attachments.get(message.getId()),
+                                            downloads.getOrDefault(message.getId(), Map.of()),
+                                            permits, job, toMarkRead)) {
+                                        failedMessages.incrementAndGet();
+                                        job.messageFailed();
+                                    }
+                                } finally {
+                                    permits.releaseMessage();
+                                }
+                            });
+                        }
+                    } catch (InterruptedException | RuntimeException e) {
+                        downloads.values().forEach(m -> m.values().forEach(Download::release));
+                        throw e;
+                    }
+
+                    chunk = new ArrayList<>(GraphBatch.MAX_REQUESTS);
+
+                    // The plain listing filters on isRead and pages with $skip: marking
+                    // messages read mid-listing shifts later pages past unread mail.
+                    // Delta links are stable, so only there can marking run alongside.
+                    if (properties.isDeltaEnabled()) {
+                        markRead(graphClient, mailbox, toMarkRead, false, failedMessages, job);
+                    }
+                }
+            }
+
+            // Listing exhausted: safe to mark whatever is left (everything, without delta)
+            markRead(graphClient, mailbox, toMarkRead, true, failedMessages, job);
+
+            log.info("Scanned {} page(s) of unread email", messages.getPagesFetched());
+
+            // STEP 10: Advance the delta link only when nothing failed, so failures are retried next sync
+            if (messages.getDeltaLink() != null) {
+                if (failedMessages.get() == 0) {
+                    deltaTokenStore.save(mailboxKey, messages.getDeltaLink());
+                } else {
+                    log.warn("{} email(s) failed; keeping previous delta token", failedMessages.get());
                 }
+            }
+
+        } catch (Exception e) {
+
+            log.error("Error while fetching emails of {}: {}", mailboxKey, e.getMessage(), e);
+            job.failed(e);
+
+        } finally {
+            syncing.remove(mailboxKey);
+        }
 
-                // STEP 7: Fetch attachments properly
-                var attachments = graphClient
-                        .me()
+        return true;
+    }
+
+    /**
+     * Attachments per message id, from the expanded message list or one
+     * {@code $batch} for the chunk. Messages left out (no attachments, or a
+     * failed batch step) are fetched directly by {@link #processAttachments}.
+     */
+    private Map<String, List<Attachment>> attachmentsOf(
+            GraphServiceClient graphClient,
+            UserItemRequestBuilder mailbox,
+            List<Message> chunk,
+            MailSyncJob job
+    ) {
+
+        Map<String, List<Attachment>> attachments = new HashMap<>();
+        Map<String, RequestInformation> requests = new LinkedHashMap<>();
+
+        for (Message message : chunk) {
+
+            if (message.getId() == null || !Boolean.TRUE.equals(message.getHasAttachments())) {
+                continue;
+            }
+
+            if (message.getAttachments() != null) {
+                attachments.put(message.getId(), message.getAttachments());
+            } else {
+                requests.put(message.getId(), mailbox
                         .messages()
-                        .byMessageId(messageId)
+                        .byMessageId(message.getId())
                         .attachments()
-                        .get();
+                        .toGetRequestInformation(config ->
+                                config.queryParameters.select = ATTACHMENT_FIELDS));
+            }
+        }
+
+        if (requests.isEmpty()) {
+            return attachments;
+        }
+
+        long fetchStarted = System.nanoTime();
+
+        try {
+            GraphBatch.send(graphClient, requests, AttachmentCollectionResponse::createFromDiscriminatorValue)
+                    .forEach((messageId, page) -> {
+                        if (page != null && page.getValue() != null) {
+                            attachments.put(messageId, page.getValue());
+                        }
+                    });
+        } catch (Exception e) {
+            log.warn("Attachment batch failed, fetching per email: {}", e.getMessage(), e);
+        }
+
+        job.recordStage("fetch-attachments", fetchStarted);
+
+        return attachments;
+    }
+
+    /**
+     * Content of the chunk's accepted attachments per message and attachment
+     * id, downloaded through {@code $batch} in round trips of up to
+     * {@code batch-max-bytes}. Each download holds its tenant byte permits
+     * until {@link #processAttachment} is done with it. Attachments left out
+     * (oversized, no spare budget, or a failed step) are fetched one by one there.
+     */
+    private Map<String, Map<String, Download>> downloadsOf(
+            GraphServiceClient graphClient,
+            UserItemRequestBuilder mailbox,
+            List<Message> chunk,
+            Map<String, List<Attachment>> attachments,
+            GraphTenantLimiter.TenantPermits permits,
+            MailSyncJob job
+    ) {
+
+        GraphMailProperties.Attachments rules = properties.getAttachments();
+
+        Map<String, Map<String, Download>> downloads = new HashMap<>();
+        Map<AttachmentRef, RequestInformation> requests = new LinkedHashMap<>();
+        Map<AttachmentRef, Integer> bytePermits = new HashMap<>();
+        long batchBytes = 0;
+
+        for (Message message : chunk) {
+
+            for (Attachment attachment : attachments.getOrDefault(message.getId(), List.of())) {
+
+                long size = reservedSize(attachment);
+
+                if (attachment.getId() == null || !isFileAttachment(attachment) ||
+                        size > rules.getBatchMaxBytes() || !isCandidateResume(attachment)) {
+                    continue;
+                }
+
+                if (requests.size() == GraphBatch.MAX_REQUESTS || batchBytes + size > rules.getBatchMaxBytes()) {
+                    download(graphClient, requests, bytePermits, permits, downloads, job);
+                    batchBytes = 0;
+                }
 
-                if (attachments == null || attachments.getValue() == null) {
-                    System.out.println("Attachments NULL");
+                // Never waits: with the budget in use, the task fetches it directly later
+                int acquired = permits.tryAcquirePrefetch(size, rules.getMaxBytes());
+
+                if (acquired == 0) {
                     continue;
                 }
 
-                boolean resumeDownloaded = false;
+                AttachmentRef ref = new AttachmentRef(message.getId(), attachment.getId());
 
-                // STEP 8: Process attachments
-                for (Attachment attachment : attachments.getValue()) {
+                requests.put(ref, mailbox
+                        .messages()
+                        .byMessageId(message.getId())
+                        .attachments()
+                        .byAttachmentId(attachment.getId())
+                        .toGetRequestInformation());
+                bytePermits.put(ref, acquired);
+                batchBytes += size;
+            }
+        }
 
-                    if (!(attachment instanceof FileAttachment fileAttachment)) {
-                        continue;
-                    }
+        download(graphClient, requests, bytePermits, permits, downloads, job);
 
-                    String fileName = fileAttachment.getName();
+        return downloads;
+    }
 
-                    System.out.println("Found attachment: " + fileName);
+    private void download(
+            GraphServiceClient graphClient,
+            Map<AttachmentRef, RequestInformation> requests,
+            Map<AttachmentRef, Integer> bytePermits,
+            GraphTenantLimiter.TenantPermits permits,
+            Map<String, Map<String, Download>> downloads,
+            MailSyncJob job
+    ) {
 
-                    if (fileName == null ||
-                            !fileName.toLowerCase().endsWith(".pdf")) {
+        if (requests.isEmpty()) {
+            return;
+        }
 
-                        System.out.println("Skipping non-PDF file");
-                        continue;
-                    }
+        long downloadStarted = System.nanoTime();
 
-                    byte[] content = fileAttachment.getContentBytes();
+        Map<AttachmentRef, Attachment> fetched = Map.of();
 
-                    // IMPORTANT: fetch content if null
-                    if (content == null) {
+        try {
+            fetched = GraphBatch.send(graphClient, requests, Attachment::createFromDiscriminatorValue);
+        } catch (Exception e) {
+            log.warn("Attachment download batch failed, downloading one by one: {}", e.getMessage(), e);
+        }
 
-                        System.out.println("ContentBytes NULL, fetching attachment again...");
+        job.recordStage("download-attachments", downloadStarted);
 
-                        Attachment fullAttachment =
-                                graphClient
-                                        .me()
-                                        .messages()
-                                        .byMessageId(messageId)
-                                        .attachments()
-                                        .byAttachmentId(attachment.getId())
-                                        .get();
+        for (AttachmentRef ref : requests.keySet()) {
 
-                        if (fullAttachment instanceof FileAttachment fullFileAttachment) {
-                            content = fullFileAttachment.getContentBytes();
-                        }
-                    }
+            int acquired = bytePermits.get(ref);
 
-                    if (content == null) {
-                        System.out.println("Still NULL content, skipping.");
-                        continue;
-                    }
+            if (fetched.get(ref) instanceof FileAttachment file && file.getContentBytes() != null) {
+                downloads.computeIfAbsent(ref.messageId(), id -> new HashMap<>())
+                        .put(ref.attachmentId(), new Download(file.getContentBytes(), permits, acquired));
+            } else {
+                permits.releasePrefetch(acquired);
+            }
+        }
+
+        requests.clear();
+        bytePermits.clear();
+    }
 
-                    // STEP 9: Write temp file (UPDATED)
-                    File tempFile = new File(tempDir, fileName);
-                    boolean success = false;
+    /**
+     * STEP 9: Marks processed emails as READ, a full $batch at a time (or
+     * everything left when {@code flushAll}). Steps the batch could not apply
+     * are retried one by one; an email that still can't be marked counts as
+     * failed so the delta link is not advanced past it.
+     */
+    private void markRead(
+            GraphServiceClient graphClient,
+            UserItemRequestBuilder mailbox,
+            Queue<Message> toMarkRead,
+            boolean flushAll,
+            AtomicInteger failedMessages,
+            MailSyncJob job
+    ) {
 
-                    try (OutputStream os = new FileOutputStream(tempFile)) {
-                        os.write(content);
+        while (toMarkRead.size() >= GraphBatch.MAX_REQUESTS || (flushAll && !toMarkRead.isEmpty())) {
 
-                        // STEP 10: Process resume
-                        String senderEmail =
-                                message.getFrom()
-                                        .getEmailAddress()
-                                        .getAddress();
+            Map<String, Message> batch = new LinkedHashMap<>();
+            Message next;
 
-                        String senderName =
-                                message.getFrom()
-                                        .getEmailAddress()
-                                        .getName();
+            while (batch.size() < GraphBatch.MAX_REQUESTS && (next = toMarkRead.poll()) != null) {
+                batch.put(next.getId(), next);
+            }
 
-                        resumeProcessingService.process(
-                                tempFile,
-                                senderName,
-                                senderEmail
-                        );
-                        success = true;
-                        resumeDownloaded = true;
+            Message updateMessage = new Message();
+            updateMessage.setIsRead(true);
 
-                    } catch (Exception e) {
+            Map<String, RequestInformation> requests = new LinkedHashMap<>();
+            batch.keySet().forEach(id -> requests.put(id, mailbox
+                    .messages()
+                    .byMessageId(id)
+                    .toPatchRequestInformation(updateMessage)));
 
-                        System.out.println(
-                                "Resume processing failed for: " + fileName
-                        );
-                        e.printStackTrace();
+            long markStarted = System.nanoTime();
 
-                    } finally {
-                        // STEP 11: Delete ONLY after success
-                        if (success && tempFile.exists()) {
-                            tempFile.delete();
-                        }
+            Set<String> marked = Set.of();
+
+            try {
+                marked = GraphBatch.send(graphClient, requests, Message::createFromDiscriminatorValue).keySet();
+            } catch (Exception e) {
+                log.warn("Mark-as-read batch failed, patching per email: {}", e.getMessage(), e);
+            }
+
+            for (Message message : batch.values()) {
+
+                if (!marked.contains(message.getId())) {
+                    try {
+                        mailbox
+                                .messages()
+                                .byMessageId(message.getId())
+                                .patch(updateMessage);
+                    } catch (Exception e) {
+                        log.warn("Failed to mark email as READ: {}", message.getSubject(), e);
+                        failedMessages.incrementAndGet();
+                        job.messageFailed();
+                        continue;
                     }
                 }
 
-                // STEP 12: Mark email as READ only if resume downloaded
-                if (resumeDownloaded) {
+                log.info("Marked email as READ: {}", message.getSubject());
+            }
+
+            job.recordStage("mark-read", markStarted);
+        }
+    }
 
-                    Message updateMessage = new Message();
-                    updateMessage.setIsRead(true);
+    /**
+     * Returns false when the email could not be fully processed and should be retried.
+     */
+    private boolean processMessage(
+            UserItemRequestBuilder mailbox,
+            Message message,
+            List<Attachment> attachments,
+            Map<String, Download> downloads,
+            GraphTenantLimiter.TenantPermits permits,
+            MailSyncJob job,
+            Queue<Message> toMarkRead
+    ) {
 
-                    graphClient
-                            .me()
-                            .messages()
-                            .byMessageId(messageId)
-                            .patch(updateMessage);
+        try {
+            return processAttachments(mailbox, message, attachments, downloads, permits, job, toMarkRead);
+        } catch (Exception e) {
+            log.error("Failed to process email: {}", message.getSubject(), e);
+            return false;
+        } finally {
+            // Content nobody got to (the email failed early) gives its permits back
+            downloads.values().forEach(Download::release);
+        }
+    }
 
-                    System.out.println("Marked email as READ: " + subject);
-                }
-                else {
-                    System.out.println("No PDF resumes found in email.");
+    private boolean processAttachments(
+            UserItemRequestBuilder mailbox,
+            Message message,
+            List<Attachment> attachments,
+            Map<String, Download> downloads,
+            GraphTenantLimiter.TenantPermits permits,
+            MailSyncJob job,
+            Queue<Message> toMarkRead
+    ) throws Exception {
+
+        String messageId = message.getId();
+        String subject = message.getSubject();
+
+        log.info("Checking UNREAD email: {}", subject);
+
+        if (messageId == null)
+            return true;
+
+        if (message.getHasAttachments() == null ||
+                !message.getHasAttachments()) {
+
+            log.info("No attachments found.");
+            return true;
+        }
+
+        // STEP 6: Not in the batch (step failed): fetch attachments directly
+        if (attachments == null) {
+
+            long fetchStarted = System.nanoTime();
+
+            var page = mailbox
+                    .messages()
+                    .byMessageId(messageId)
+                    .attachments()
+                    .get(config -> config.queryParameters.select = ATTACHMENT_FIELDS);
+
+            job.recordStage("fetch-attachments", fetchStarted);
+
+            if (page == null || page.getValue() == null) {
+                log.info("Attachments NULL");
+                return true;
+            }
+
+            attachments = page.getValue();
+        }
+
+        // STEP 7: Process attachments concurrently; the message stays unread unless one succeeds
+        List<Future<AttachmentOutcome>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+
+            for (Attachment attachment : attachments) {
+
+                // Forwarded emails and cloud links carry no file to parse
+                if (!isFileAttachment(attachment)) {
+                    continue;
                 }
+
+                Download download = downloads.get(attachment.getId());
+
+                results.add(executor.submit(() ->
+                        processAttachment(mailbox, message, attachment, download, permits, job)));
             }
+        }
 
-        } catch (Exception e) {
+        boolean resumeDownloaded = false;
+        boolean failed = false;
+
+        for (Future<AttachmentOutcome> result : results) {
+            AttachmentOutcome outcome = result.get();
+
+            switch (outcome) {
+                case PROCESSED -> job.attachmentProcessed();
+                case SKIPPED -> job.attachmentSkipped();
+                case FAILED -> job.attachmentFailed();
+            }
+
+            resumeDownloaded |= outcome == AttachmentOutcome.PROCESSED;
+            failed |= outcome == AttachmentOutcome.FAILED;
+        }
+
+        // Mark email as READ only if a resume was downloaded and none failed (batched by
+        // the sync loop); a read email drops out of the unread listing and is never retried
+        if (resumeDownloaded && !failed) {
+            toMarkRead.add(message);
+        }
+        else if (!resumeDownloaded) {
+            log.info("No resumes found in email.");
+        }
+
+        return !failed;
+    }
+
+    private AttachmentOutcome processAttachment(
+            UserItemRequestBuilder mailbox,
+            Message message,
+            Attachment attachment,
+            Download download,
+            GraphTenantLimiter.TenantPermits permits,
+            MailSyncJob job
+    ) throws InterruptedException {
+
+        String messageId = message.getId();
+        String fileName = attachment.getName();
+
+        log.info("Found attachment: {}", fileName);
+
+        // Decided on metadata alone, before any content is downloaded
+        if (!isCandidateResume(attachment)) {
+            return AttachmentOutcome.SKIPPED;
+        }
+
+        // Downloaded with the chunk's batch (permits already held), or on its own
+        // here: the byte permits are taken before the content is requested
+        int bytePermits = download != null ? 0 : permits.acquireAttachment(reservedSize(attachment));
+
+        try {
+
+            byte[] content = download != null
+                    ? download.content()
+                    : downloadContent(mailbox, messageId, attachment, job);
+
+            if (content == null) {
+                log.warn("Attachment content NULL, skipping.");
+                return AttachmentOutcome.FAILED;
+            }
+
+            // STEP 8: Process resume straight from memory; nothing is written to disk.
+            // The bytes pick the extractor; what no extractor can read comes back UNSUPPORTED
+            String senderEmail =
+                    message.getFrom()
+                            .getEmailAddress()
+                            .getAddress();
+
+            String senderName =
+                    message.getFrom()
+                            .getEmailAddress()
+                            .getName();
+
+            long processStarted = System.nanoTime();
+
+            ResumeOutcome outcome =
+                    resumeProcessingService.process(
+                            content,
+                            fileName,
+                            senderName,
+                            senderEmail
+                    );
+
+            job.recordStage("process-resume", processStarted);
 
-            System.out.println("\nERROR while fetching emails:");
-            e.printStackTrace();
+            switch (outcome) {
+                case SAVED -> job.candidateSaved();
+                case DUPLICATE -> job.duplicateFound();
+                case UNSUPPORTED -> log.info("Skipping {}: no readable document text", fileName);
+                case FAILED -> log.warn("Resume processing failed for: {}", fileName);
+            }
+
+            return switch (outcome) {
+                case SAVED, DUPLICATE -> AttachmentOutcome.PROCESSED;
+                case UNSUPPORTED -> AttachmentOutcome.SKIPPED;
+                case FAILED -> AttachmentOutcome.FAILED;
+            };
+
+        } finally {
+            if (download != null) {
+                download.release();
+            } else {
+                permits.releaseAttachment(bytePermits);
+            }
+        }
+    }
+
+    // Content of one accepted attachment
+    private byte[] downloadContent(
+            UserItemRequestBuilder mailbox,
+            String messageId,
+            Attachment attachment,
+            MailSyncJob job
+    ) {
+
+        long downloadStarted = System.nanoTime();
+
+        Attachment fullAttachment =
+                mailbox
+                        .messages()
+                        .byMessageId(messageId)
+                        .attachments()
+                        .byAttachmentId(attachment.getId())
+                        .get();
+
+        job.recordStage("download-attachment", downloadStarted);
+
+        return fullAttachment instanceof FileAttachment fileAttachment
+                ? fileAttachment.getContentBytes()
+                : null;
+    }
+
+    /**
+     * Bytes to reserve before downloading an attachment's content: its size
+     * from the metadata, or the largest accepted size when Graph left it out,
+     * so content of unknown size can't slip past the tenant byte budget.
+     */
+    private long reservedSize(Attachment attachment) {
+        return attachment.getSize() != null
+                ? attachment.getSize()
+                : properties.getAttachments().getMaxBytes();
+    }
+
+    private boolean isFileAttachment(Attachment attachment) {
+        return attachment.getOdataType() == null ||
+                FILE_ATTACHMENT_TYPE.equals(attachment.getOdataType());
+    }
+
+    private boolean isCandidateResume(Attachment attachment) {
+
+        GraphMailProperties.Attachments rules = properties.getAttachments();
+
+        if (rules.isSkipInline() && Boolean.TRUE.equals(attachment.getIsInline())) {
+            log.info("Skipping inline attachment");
+            return false;
+        }
+
+        if (!rules.accepts(attachment.getName(), attachment.getContentType())) {
+            log.info("Skipping unsupported file type");
+            return false;
+        }
+
+        if (attachment.getSize() != null && attachment.getSize() > rules.getMaxBytes()) {
+            log.info("Skipping attachment over {} bytes", rules.getMaxBytes());
+            return false;
+        }
+
+        return true;
+    }
+
+    private GraphPageIterator<?, Message> unreadMessages(
+            UserItemRequestBuilder mailbox,
+            String mailboxKey
+    ) {
+
+        if (!properties.isDeltaEnabled()) {
+
+            var messages = mailbox.messages();
+
+            return new GraphPageIterator<MessageCollectionResponse, Message>(
+                    () -> messages.get(config -> {
+                        config.queryParameters.filter = "isRead eq false";
+                        config.queryParameters.select = MESSAGE_FIELDS;
+                        config.queryParameters.expand = MESSAGE_EXPAND;
+                        config.queryParameters.top = properties.getPageSize();
+                    }),
+                    url -> messages.withUrl(url).get(),
+                    MessageCollectionResponse::getValue,
+                    MessageCollectionResponse::getOdataNextLink,
+                    null
+            );
+        }
+
+        var delta = mailbox
+                .mailFolders()
+                .byMailFolderId(properties.getDeltaFolder())
+                .messages()
+                .delta();
+
+        return new GraphPageIterator<DeltaGetResponse, Message>(
+                () -> {
+                    Optional<String> savedLink = deltaTokenStore.load(mailboxKey);
+
+                    if (savedLink.isPresent()) {
+                        try {
+                            return delta.withUrl(savedLink.get()).get();
+                        } catch (ApiException e) {
+                            if (e.getResponseStatusCode() != HTTP_GONE) {
+                                throw e;
+                            }
+                            // Sync state expired on the Graph side: start over with a full sync
+                            log.warn("Delta token expired, running full sync", e);
+                            deltaTokenStore.clear(mailboxKey);
+                        }
+                    }
+
+                    return delta.get(config -> {
+                        config.queryParameters.select = MESSAGE_FIELDS;
+                        config.headers.add("Prefer", "odata.maxpagesize=" + properties.getPageSize());
+                    });
+                },
+                url -> delta.withUrl(url).get(),
+                page -> unreadOnly(page.getValue()),
+                DeltaGetResponse::getOdataNextLink,
+                DeltaGetResponse::getOdataDeltaLink
+        );
+    }
+
+    // Delta pages also carry read and deleted messages; only unread ones are ingested
+    private List<Message> unreadOnly(List<Message> changed) {
+
+        if (changed == null) {
+            return List.of();
+        }
+
+        return changed.stream()
+                .filter(m -> m.getAdditionalData() == null ||
+                        !m.getAdditionalData().containsKey("@removed"))
+                .filter(m -> !Boolean.TRUE.equals(m.getIsRead()))
+                .toList();
+    }
+
+    private String resolveTenantId(OAuth2AuthenticationToken authentication) {
+
+        Object tenantId = authentication.getPrincipal().getAttribute("tid");
+
+        return tenantId != null ? tenantId.toString() : DEFAULT_TENANT;
+    }
+
+    private enum AttachmentOutcome {
+        PROCESSED,
+        SKIPPED,
+        FAILED
+    }
+
+    private record AttachmentRef(String messageId, String attachmentId) {}
+
+    /**
+     * Attachment content fetched ahead of its message task, holding the
+     * tenant byte permits it was reserved under until released (once).
+     */
+    private static final class Download {
+
+        private final byte[] content;
+        private final GraphTenantLimiter.TenantPermits permits;
+        private final int bytePermits;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private Download(byte[] content, GraphTenantLimiter.TenantPermits permits, int bytePermits) {
+            this.content = content;
+            this.permits = permits;
+            this.bytePermits = bytePermits;
+        }
+
+        byte[] content() {
+            return content;
+        }
+
+        void release() {
+            if (released.compareAndSet(false, true)) {
+                permits.releasePrefetch(bytePermits);
+            }
         }
     }
 }
@@ -0,0 +1,116 @@
+package com.example.service;
+
+import com.example.config.GraphMailProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Concurrency and memory caps for mailbox ingestion, kept separately per Graph tenant
+ * so one busy tenant cannot starve another or blow the shared heap.
+ */
+@Component
+public class GraphTenantLimiter {
+
+    private final GraphMailProperties properties;
+    private final Map<String, TenantPermits> tenants = new ConcurrentHashMap<>();
+
+    public GraphTenantLimiter(GraphMailProperties properties) {
+        this.properties = properties;
+    }
+
+    public TenantPermits forTenant(String tenantId) {
+        return tenants.computeIfAbsent(
+                tenantId,
+                id -> new TenantPermits(properties.limitsFor(id))
+        );
+    }
+
+    public static final class TenantPermits {
+
+        private final Semaphore messages;
+        private final Semaphore attachments;
+        private final Semaphore bytes;
+        private final int maxAttachments;
+        private final int maxBytes;
+
+        // Held by content downloaded ahead of its message task; guarded by this
+        private int prefetchedAttachments;
+        private long prefetchedBytes;
+
+        private TenantPermits(GraphMailProperties.TenantLimits limits) {
+            this.messages = new Semaphore(Math.max(1, limits.getMaxConcurrentMessages()), true);
+            this.maxAttachments = Math.max(1, limits.getMaxConcurrentAttachments());
+            this.attachments = new Semaphore(maxAttachments, true);
+            this.maxBytes = (int) Math.max(1, Math.min(Integer.MAX_VALUE, limits.getMaxInFlightAttachmentBytes()));
+            this.bytes = new Semaphore(maxBytes, true);
+        }
+
+        public void acquireMessage() throws InterruptedException {
+            messages.acquire();
+        }
+
+        public void releaseMessage() {
+            messages.release();
+        }
+
+        /**
+         * Reserves an attachment slot plus its size in the in-flight byte budget.
+         * A single attachment larger than the whole budget takes the full budget
+         * rather than deadlocking. Returns the byte permits to hand back on release.
+         */
+        public int acquireAttachment(long size) throws InterruptedException {
+            int permits = (int) Math.max(1, Math.min(size, maxBytes));
+            attachments.acquire();
+            try {
+                bytes.acquire(permits);
+            } catch (InterruptedException e) {
+                attachments.release();
+                throw e;
+            }
+            return permits;
+        }
+
+        public void releaseAttachment(int permits) {
+            bytes.release(permits);
+            attachments.release();
+        }
+
+        /**
+         * Reserves like {@link #acquireAttachment} but never blocks, for content
+         * downloaded before its message task holds a message permit. Prefetches
+         * together always leave a slot and {@code headroom} bytes to attachments
+         * acquired the blocking way, so those tasks can't wait on content whose
+         * task is itself waiting for them. Returns 0 when nothing was reserved.
+         */
+        public synchronized int tryAcquirePrefetch(long size, long headroom) {
+            int permits = (int) Math.max(1, Math.min(size, maxBytes));
+
+            if (prefetchedAttachments + 1 >= maxAttachments ||
+                    prefetchedBytes + permits > maxBytes - headroom) {
+                return 0;
+            }
+
+            if (!attachments.tryAcquire()) {
+                return 0;
+            }
+
+            if (!bytes.tryAcquire(permits)) {
+                attachments.release();
+                return 0;
+            }
+
+            prefetchedAttachments++;
+            prefetchedBytes += permits;
+            return permits;
+        }
+
+        public synchronized void releasePrefetch(int permits) {
+            prefetchedAttachments--;
+            prefetchedBytes -= permits;
+            releaseAttachment(permits);
+        }
+    }
+}
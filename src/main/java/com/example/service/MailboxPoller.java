@@ -0,0 +1,143 @@
+package com.example.service;
+
+import com.example.config.GraphMailProperties;
+import com.example.service.sync.MailSyncJobs;
+import com.microsoft.graph.models.User;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingests the configured mailboxes in the background with app-only Graph
+ * access, so ingestion no longer waits for someone to hit {@code /emails}.
+ *
+ * Runs on its own thread with a fixed delay between polls plus random
+ * jitter, so a long sync never overlaps the next one or holds up the shared
+ * Spring scheduler. Overlap with a manual sync of the same mailbox is
+ * prevented by {@link GraphMailService#syncMailbox}.
+ */
+@Component
+@ConditionalOnProperty(name = "graph.mail.poller.enabled", havingValue = "true")
+public class MailboxPoller {
+
+    private static final Logger log = LoggerFactory.getLogger(MailboxPoller.class);
+
+    private final GraphMailService mailService;
+    private final MailSyncJobs syncJobs;
+    private final GraphServiceClient graphClient;
+    private final GraphMailProperties.Poller config;
+
+    // Configured mailbox (user id or UPN) -> canonical key, resolved once
+    private final Map<String, String> mailboxKeys = new ConcurrentHashMap<>();
+
+    private final ScheduledExecutorService scheduler =
+            Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread t = new Thread(r, "mailbox-poller");
+                t.setDaemon(true);
+                return t;
+            });
+
+    public MailboxPoller(
+            GraphMailService mailService,
+            MailSyncJobs syncJobs,
+            GraphServiceClient appGraphClient,
+            GraphMailProperties properties
+    ) {
+        this.mailService = mailService;
+        this.syncJobs = syncJobs;
+        this.graphClient = appGraphClient;
+        this.config = properties.getPoller();
+    }
+
+    @PostConstruct
+    void start() {
+
+        if (config.getMailboxes().isEmpty()) {
+            log.warn("Mailbox poller is enabled but graph.mail.poller.mailboxes is empty");
+            return;
+        }
+
+        schedule(config.getInitialDelay().toMillis());
+    }
+
+    @PreDestroy
+    void stop() {
+        scheduler.shutdownNow();
+    }
+
+    private void schedule(long baseDelayMillis) {
+
+        long jitter = config.getJitter().toMillis();
+        long delay = baseDelayMillis + (jitter > 0 ? ThreadLocalRandom.current().nextLong(jitter) : 0);
+
+        try {
+            scheduler.schedule(this::poll, delay, TimeUnit.MILLISECONDS);
+        } catch (RuntimeException e) {
+            // Rejected once the scheduler has been shut down
+            log.debug("Mailbox poller stopped");
+        }
+    }
+
+    private void poll() {
+
+        List<String> mailboxes = config.getMailboxes();
+        long started = System.currentTimeMillis();
+
+        try {
+            for (String mailbox : mailboxes) {
+
+                if (Thread.currentThread().isInterrupted()) {
+                    return;
+                }
+
+                String mailboxKey;
+
+                try {
+                    mailboxKey = mailboxKeys.computeIfAbsent(mailbox, this::resolveMailboxKey);
+                } catch (RuntimeException e) {
+                    log.warn("Skipping mailbox {}: cannot resolve its user id: {}", mailbox, e.getMessage());
+                    continue;
+                }
+
+                // Tracked like an /emails job so polls show up in the sync status
+                syncJobs.runNow(mailboxKey, job -> mailService.syncMailbox(
+                        graphClient,
+                        graphClient.users().byUserId(mailbox),
+                        config.getTenantId(),
+                        mailboxKey,
+                        job
+                ));
+            }
+
+            log.info("Polled {} mailbox(es) in {} ms", mailboxes.size(), System.currentTimeMillis() - started);
+
+        } catch (RuntimeException e) {
+            log.error("Mailbox poll failed: {}", e.getMessage(), e);
+
+        } finally {
+            schedule(config.getInterval().toMillis());
+        }
+    }
+
+    // Keyed by the user's object id, like a sync of the same mailbox started from /emails
+    private String resolveMailboxKey(String mailbox) {
+
+        User user = graphClient.users()
+                .byUserId(mailbox)
+                .get(request -> request.queryParameters.select = new String[] {"id"});
+
+        return GraphMailService.mailboxKey(config.getTenantId(), user.getId());
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.service;
+
+/**
+ * What {@link ResumeProcessingService#process} did with one resume.
+ */
+public enum ResumeOutcome {
+    SAVED,
+    DUPLICATE,
+    // Not a document any extractor could read text from (images, archives, ...); not worth retrying
+    UNSUPPORTED,
+    FAILED
+}
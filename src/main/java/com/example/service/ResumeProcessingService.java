@@ -1,9 +1,11 @@
 package com.example.service;
 
-import com.example.assessment.dto.AssessmentDto;
-import com.example.assessment.service.GoogleFormService;
-import com.example.assessment.service.LlmAssessmentService;
+import com.example.assessment.queue.AssessmentQueue;
+import com.example.ats.analysis.AnalyzedDocument;
+import com.example.ats.analysis.DocumentAnalyzer;
 import com.example.ats.extractor.JDTextExtractor;
+import com.example.ats.index.DocumentFrequencyIndex;
+import com.example.ats.model.AtsScoreBreakdown;
 import com.example.ats.model.JDRequirements;
 import com.example.ats.model.ParsedResume;
 import com.example.ats.parser.JDParser;
@@ -14,13 +16,38 @@ import com.example.infrastructure.storage.S3StorageService;
 import com.example.infrastructure.storage.S3UploadResult;
 import com.example.model.Candidate;
 import com.example.repository.CandidateDynamoRepository;
+import com.example.repository.CandidateEmailClaimRepository;
+import com.example.service.cache.ResumeAnalysis;
+import com.example.service.cache.ResumeAnalysisCache;
+import com.example.service.extraction.ExtractionFailureReason;
+import com.example.service.extraction.TextExtractionException;
+import com.example.service.pipeline.PipelineStage;
+import com.example.util.ContentDigest;
+import com.example.util.Futures;
 
+import jakarta.annotation.PreDestroy;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
 
+/**
+ * Resume intake as a staged pipeline. Each stage has its own bounded pool:
+ *
+ * <ul>
+ *   <li>analyze (CPU): extraction, analysis, parsing, scoring</li>
+ *   <li>store (IO): email claim, S3 upload, DynamoDB save</li>
+ * </ul>
+ *
+ * A full stage blocks its feeder, so throughput follows the slowest stage
+ * without unbounded queueing. The LLM assessment is not a stage: stored
+ * candidates are handed to the durable {@link AssessmentQueue}.
+ */
 @Service
 public class ResumeProcessingService {
 
@@ -33,10 +60,19 @@ public class ResumeProcessingService {
     private final ATSScoringService atsScoringService;
 
     private final S3StorageService s3Service;
-    private final CandidateDynamoRepository repository;
+    private final CandidateBatchWriter candidateWriter;
+    private final CandidateEmailClaimRepository emailClaims;
+    private final CandidateEmailClaimBackfill claimBackfill;
+    private final CandidateDynamoRepository candidateRepository;
 
-    private final LlmAssessmentService llmAssessmentService;
-    private final GoogleFormService googleFormService;
+    private final AssessmentQueue assessmentQueue;
+    private final ResumeAnalysisCache analysisCache;
+    private final DocumentFrequencyIndex documentFrequencyIndex;
+    private final DocumentAnalyzer analyzer;
+
+    private final PipelineStage analyzeStage;
+    private final PipelineStage storeStage;
+    private final Duration drainTimeout;
 
     public ResumeProcessingService(
             ResumeTextExtractor extractor,
@@ -45,9 +81,19 @@ public class ResumeProcessingService {
             JDTextExtractor jdExtractor,
             ATSScoringService atsScoringService,
             S3StorageService s3Service,
-            CandidateDynamoRepository repository,
-            LlmAssessmentService llmAssessmentService,
-            GoogleFormService googleFormService
+            CandidateBatchWriter candidateWriter,
+            CandidateEmailClaimRepository emailClaims,
+            CandidateEmailClaimBackfill claimBackfill,
+            CandidateDynamoRepository candidateRepository,
+            AssessmentQueue assessmentQueue,
+            ResumeAnalysisCache analysisCache,
+            DocumentFrequencyIndex documentFrequencyIndex,
+            DocumentAnalyzer analyzer,
+            @Value("${pipeline.analyze.threads:0}") int analyzeThreads,
+            @Value("${pipeline.analyze.queue-capacity:32}") int analyzeQueue,
+            @Value("${pipeline.store.threads:16}") int storeThreads,
+            @Value("${pipeline.store.queue-capacity:64}") int storeQueue,
+            @Value("${pipeline.drain-timeout:60s}") Duration drainTimeout
     ) {
         this.extractor = extractor;
         this.resumeParser = resumeParser;
@@ -55,72 +101,191 @@ public class ResumeProcessingService {
         this.jdExtractor = jdExtractor;
         this.atsScoringService = atsScoringService;
         this.s3Service = s3Service;
-        this.repository = repository;
-        this.llmAssessmentService = llmAssessmentService;
-        this.googleFormService = googleFormService;
+        this.candidateWriter = candidateWriter;
+        this.emailClaims = emailClaims;
+        this.claimBackfill = claimBackfill;
+        this.candidateRepository = candidateRepository;
+        this.assessmentQueue = assessmentQueue;
+        this.analysisCache = analysisCache;
+        this.documentFrequencyIndex = documentFrequencyIndex;
+        this.analyzer = analyzer;
+
+        this.analyzeStage = new PipelineStage(
+                "analyze",
+                analyzeThreads > 0 ? analyzeThreads : Runtime.getRuntime().availableProcessors(),
+                analyzeQueue);
+        this.storeStage = new PipelineStage("store", storeThreads, storeQueue);
+        this.drainTimeout = drainTimeout;
     }
 
-    public void process(
-            File file,
+    /**
+     * Runs the resume through the pipeline and waits until its candidate is
+     * stored (or found to be a duplicate). The assessment is only queued and
+     * does not hold up the caller. Errors are logged and reported as
+     * {@link ResumeOutcome#FAILED}.
+     */
+    public ResumeOutcome process(
+            byte[] content,
+            String fileName,
             String senderName,
             String senderEmail
     ) {
 
         try {
+            return analyzeStage.submit(() -> analyze(content, fileName, senderName, senderEmail))
+                    .thenCompose(analyzed -> storeStage.submit(() -> store(analyzed, content, fileName)))
+                    .join();
 
-            // STEP 1: Extract resume text
-            String resumeText =
-                    extractor.extractText(file);
-
-            // STEP 2: Parse resume
-            ParsedResume parsedResume =
-                    resumeParser.parse(resumeText);
-
-            // STEP 3: Determine email
-            String email =
-                    parsedResume.email().equals("unknown@email.com")
-                            ? senderEmail
-                            : parsedResume.email();
-
-            // STEP 4: Determine full name
-            String fullName =
-                    (parsedResume.fullName() == null ||
-                            parsedResume.fullName().isBlank() ||
-                            parsedResume.fullName().equalsIgnoreCase("UNKNOWN"))
-                            ? senderName
-                            : parsedResume.fullName();
-
-            // STEP 5: Check duplicate candidate
-            if (repository.existsByEmail(email)) {
-                log.info("Candidate already exists: {}", email);
-                return;
+        } catch (Exception e) {
+            Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+
+            if (cause instanceof TextExtractionException extraction &&
+                    extraction.getReason() == ExtractionFailureReason.UNSUPPORTED) {
+                log.info("Not a readable document: {}", fileName);
+                return ResumeOutcome.UNSUPPORTED;
             }
 
-            // STEP 6: Upload resume to S3
-            S3UploadResult uploadResult =
-                    s3Service.upload(file, "EMAIL");
+            log.error("Error processing resume: {}", cause.getMessage(), cause);
+            return ResumeOutcome.FAILED;
+        }
+    }
 
-            // STEP 7: Extract JD text
-            String jdText =
-                    jdExtractor.getJDText();
+    /**
+     * CPU stage: extraction, single-pass analysis, parsing and scoring.
+     */
+    private AnalyzedResume analyze(
+            byte[] content,
+            String fileName,
+            String senderName,
+            String senderEmail
+    ) {
 
-            // STEP 8: Parse JD requirements
-            JDRequirements jdRequirements =
-                    jdParser.parse(jdText);
+        // STEP 1: Look up earlier analysis of the exact same file
+        String digest = ContentDigest.sha256Hex(content);
 
-            // STEP 9: Calculate ATS score (FULL MULTI-FACTOR)
-            double atsScore =
-                    atsScoringService.calculate(
-                            resumeText,
-                            jdText,
+        ResumeAnalysis analysis =
+                analysisCache.get(digest).orElse(null);
+
+        // Single-pass analysis shared by the parser, the scorers and the IDF index
+        AnalyzedDocument resumeDoc = null;
+
+        if (analysis == null) {
+
+            // STEP 2: Extract resume text and parse it (cache miss only)
+            String extractedText =
+                    extractor.extractText(fileName, content);
+
+            resumeDoc = analyzer.analyze(extractedText);
+
+            analysis = new ResumeAnalysis(
+                    digest,
+                    extractedText,
+                    resumeParser.parse(resumeDoc),
+                    null,
+                    null,
+                    null
+            );
+
+            analysisCache.put(analysis);
+        } else {
+            log.info("Resume content {} seen before; skipping extraction and parsing", digest);
+        }
+
+        ParsedResume parsedResume = analysis.parsedResume();
+
+        // STEP 3: Determine email
+        String email =
+                parsedResume.email().equals("unknown@email.com")
+                        ? senderEmail
+                        : parsedResume.email();
+
+        // STEP 4: Determine full name
+        String fullName =
+                (parsedResume.fullName() == null ||
+                        parsedResume.fullName().isBlank() ||
+                        parsedResume.fullName().equalsIgnoreCase("UNKNOWN"))
+                        ? senderName
+                        : parsedResume.fullName();
+
+        // STEP 5: Extract JD text
+        String jdText =
+                jdExtractor.getJDText();
+
+        // STEP 6: Parse JD requirements
+        JDRequirements jdRequirements =
+                jdParser.parse(jdText);
+
+        // STEP 7: Calculate ATS score (FULL MULTI-FACTOR), reusing a cached score for this
+        // JD under the current IDF snapshot (a swap changes the cosine weights)
+        String jdFingerprint =
+                jdExtractor.getJDFingerprint();
+
+        long idfDocumentCount =
+                documentFrequencyIndex.snapshot().documentCount();
+
+        if (!analysis.hasScoreFor(jdFingerprint, idfDocumentCount)) {
+
+            // Cache hits only need the analysis to score
+            if (resumeDoc == null) {
+                resumeDoc = analyzer.analyze(analysis.resumeText());
+            }
+
+            AtsScoreBreakdown breakdown =
+                    atsScoringService.score(
+                            resumeDoc,
+                            jdExtractor.getJDProfile(),
                             parsedResume,
                             jdRequirements
                     );
 
+            analysis = analysis.withScore(jdFingerprint, idfDocumentCount, breakdown);
+            analysisCache.put(analysis);
+        }
+
+        return new AnalyzedResume(analysis, resumeDoc, email, fullName);
+    }
+
+    /**
+     * IO stage: email claim, S3 upload, DynamoDB save and assessment enqueue.
+     */
+    private ResumeOutcome store(
+            AnalyzedResume analyzed,
+            byte[] content,
+            String fileName
+    ) {
+
+        String email = analyzed.email();
+
+        // STEP 8: Claim the email atomically; losing the claim means a duplicate
+        String candidateId = UUID.randomUUID().toString();
+
+        if (!emailClaims.claim(email, candidateId)) {
+            log.info("Candidate already exists: {}", email);
+            return ResumeOutcome.DUPLICATE;
+        }
+
+        String digest = analyzed.analysis().digest();
+
+        try {
+
+            // Candidates saved before claims existed hold none until the backfill reached them
+            if (!claimBackfill.isComplete() && candidateRepository.existsByEmail(email)) {
+                releaseClaim(email, candidateId);
+                log.info("Candidate already exists: {}", email);
+                return ResumeOutcome.DUPLICATE;
+            }
+
+            // STEP 9: Upload resume to S3
+            S3UploadResult uploadResult =
+                    Futures.join(s3Service.uploadAsync(content, fileName, "EMAIL"));
+
+            double atsScore =
+                    analyzed.analysis().score().finalScore();
+
             // STEP 10: Create Candidate object
             Candidate candidate =
                     Candidate.create(
-                            fullName,
+                            analyzed.fullName(),
                             email,
                             uploadResult.getBucket(),
                             uploadResult.getObjectKey(),
@@ -128,27 +293,66 @@ public class ResumeProcessingService {
                             "PARSED"
                     );
 
+            candidate.setCandidateId(candidateId);
+            candidate.setResumeSha256(digest);
+
             // STEP 11: Set ATS score
             candidate.setAtsScore(atsScore);
 
-            // STEP 12: Save to DynamoDB
-            repository.save(candidate);
+            // STEP 12: Save to DynamoDB, batched with other resumes of this sync
+            candidateWriter.save(candidate);
 
-            log.info("Candidate saved successfully. ATS Score: {}", atsScore);
+        } catch (RuntimeException e) {
+            // Free the email again so a later attempt at this resume isn't taken for a duplicate
+            releaseClaim(email, candidateId);
+            throw e;
+        }
 
-            // STEP 13: Generate assessment and create Google Form (log link only; do not send email)
-            try {
-                AssessmentDto assessment = llmAssessmentService.generateAssessment(resumeText);
-                System.out.println(assessment);
-                String formUrl = googleFormService.createForm(assessment);
-                System.out.println("Generated Google Form URL: " + formUrl);
-                log.info("Generated Assessment Form: {}", formUrl);
-            } catch (Exception ex) {
-                log.warn("Assessment/form creation skipped or failed: {}", ex.getMessage());
-            }
+        log.info("Candidate saved successfully. ATS Score: {}", analyzed.analysis().score().finalScore());
+
+        // Every saved resume joins the IDF corpus (visible to scoring after the next snapshot swap).
+        // A cache hit with a cached score was never analyzed; only a saved one needs it here
+        AnalyzedDocument resumeDoc = analyzed.document() != null
+                ? analyzed.document()
+                : analyzer.analyze(analyzed.analysis().resumeText());
+
+        documentFrequencyIndex.addDocument(
+                resumeDoc.termCounts());
+
+        // STEP 13: Queue assessment generation and Google Form (processed by AssessmentQueue workers)
+        assessmentQueue.enqueue(candidateId, digest);
+
+        return ResumeOutcome.SAVED;
+    }
+
+    public List<PipelineStage> stages() {
+        return List.of(analyzeStage, storeStage);
+    }
+
+    /**
+     * Drains stage by stage, upstream first, so work already accepted can
+     * still be handed on downstream before that stage closes.
+     */
+    @PreDestroy
+    void drain() {
+        for (PipelineStage stage : stages()) {
+            stage.drain(drainTimeout);
+        }
+    }
 
+    private void releaseClaim(String email, String candidateId) {
+        try {
+            emailClaims.release(email, candidateId);
         } catch (Exception e) {
-            log.error("Error processing resume: {}", e.getMessage(), e);
+            log.warn("Could not release email claim for {}: {}", email, e.getMessage());
         }
     }
+
+    // document is null when a cache hit could reuse its score without analyzing
+    private record AnalyzedResume(
+            ResumeAnalysis analysis,
+            AnalyzedDocument document,
+            String email,
+            String fullName
+    ) {}
 }
\ No newline at end of file
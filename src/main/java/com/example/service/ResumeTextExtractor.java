@@ -1,20 +1,29 @@
 package com.example.service;
 
-import org.apache.tika.Tika;
+import com.example.service.extraction.TextExtractionEngine;
 import org.springframework.stereotype.Service;
 
-import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
 
 @Service
 public class ResumeTextExtractor {
 
-    private final Tika tika = new Tika();
+    private final TextExtractionEngine engine;
 
-    public String extractText(File file) {
+    public ResumeTextExtractor(TextExtractionEngine engine) {
+        this.engine = engine;
+    }
+
+    public String extractText(String documentName, byte[] content) {
+        return engine.extract(documentName, content);
+    }
+
+    public String extractText(String documentName, InputStream content) {
         try {
-            return tika.parseToString(file);
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to extract text", e);
+            return extractText(documentName, content.readAllBytes());
+        } catch (IOException e) {
+            throw new RuntimeException("Failed to read " + documentName, e);
         }
     }
 }
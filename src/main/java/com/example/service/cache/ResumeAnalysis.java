@@ -0,0 +1,32 @@
+package com.example.service.cache;
+
+import com.example.ats.model.AtsScoreBreakdown;
+import com.example.ats.model.ParsedResume;
+
+/**
+ * Everything derived from one resume file. The score is only valid for the JD
+ * whose fingerprint it was computed against and for the IDF corpus it was
+ * weighted with, identified by its document count (the corpus only grows, so
+ * every published snapshot has its own count); it is null until scored.
+ */
+public record ResumeAnalysis(
+
+        String digest,
+        String resumeText,
+        ParsedResume parsedResume,
+        String jdFingerprint,
+        Long idfDocumentCount,
+        AtsScoreBreakdown score
+
+) {
+
+    public boolean hasScoreFor(String jdFingerprint, long idfDocumentCount) {
+        return score != null &&
+                jdFingerprint.equals(this.jdFingerprint) &&
+                Long.valueOf(idfDocumentCount).equals(this.idfDocumentCount);
+    }
+
+    public ResumeAnalysis withScore(String jdFingerprint, long idfDocumentCount, AtsScoreBreakdown score) {
+        return new ResumeAnalysis(digest, resumeText, parsedResume, jdFingerprint, idfDocumentCount, score);
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.service.cache;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Content-addressed cache of extracted text, parsed resume and score, keyed by the
+ * SHA-256 of the attachment bytes, so re-sent copies of a resume skip Tika, the
+ * parser and the scorers.
+ *
+ * Memory tier: LRU bounded by an estimate of retained bytes
+ * ({@code resume.cache.max-memory-bytes}).
+ * Disk tier: optional JSON files under {@code resume.cache.disk-dir}; empty disables it.
+ */
+@Component
+public class ResumeAnalysisCache {
+
+    private static final Logger log = LoggerFactory.getLogger(ResumeAnalysisCache.class);
+
+    // Rough fixed cost of an entry besides its strings: map node, records, lists
+    private static final long ENTRY_OVERHEAD_BYTES = 512;
+
+    private final ObjectMapper objectMapper;
+    private final long maxMemoryBytes;
+    private final Path diskDir;
+
+    private final LinkedHashMap<String, ResumeAnalysis> memory = new LinkedHashMap<>(256, 0.75f, true);
+    private long memoryBytes;
+
+    public ResumeAnalysisCache(
+            ObjectMapper objectMapper,
+            @Value("${resume.cache.max-memory-bytes:67108864}") long maxMemoryBytes,
+            @Value("${resume.cache.disk-dir:}") String diskDir
+    ) {
+        this.objectMapper = objectMapper;
+        this.maxMemoryBytes = maxMemoryBytes;
+        this.diskDir = diskDir == null || diskDir.isBlank() ? null : Path.of(diskDir);
+    }
+
+    public Optional<ResumeAnalysis> get(String digest) {
+
+        synchronized (memory) {
+            ResumeAnalysis hit = memory.get(digest);
+            if (hit != null) {
+                return Optional.of(hit);
+            }
+        }
+
+        Optional<ResumeAnalysis> fromDisk = readFromDisk(digest);
+        fromDisk.ifPresent(this::putInMemory);
+        return fromDisk;
+    }
+
+    public void put(ResumeAnalysis analysis) {
+        putInMemory(analysis);
+        writeToDisk(analysis);
+    }
+
+    private void putInMemory(ResumeAnalysis analysis) {
+
+        long weight = weigh(analysis);
+
+        if (weight > maxMemoryBytes) {
+            return;
+        }
+
+        synchronized (memory) {
+
+            ResumeAnalysis previous = memory.put(analysis.digest(), analysis);
+            if (previous != null) {
+                memoryBytes -= weigh(previous);
+            }
+            memoryBytes += weight;
+
+            // Evict least recently used entries until back under budget
+            Iterator<Map.Entry<String, ResumeAnalysis>> eldest = memory.entrySet().iterator();
+            while (memoryBytes > maxMemoryBytes && eldest.hasNext()) {
+                memoryBytes -= weigh(eldest.next().getValue());
+                eldest.remove();
+            }
+        }
+    }
+
+    private Optional<ResumeAnalysis> readFromDisk(String digest) {
+
+        if (diskDir == null) {
+            return Optional.empty();
+        }
+
+        Path file = fileFor(digest);
+
+        if (!Files.exists(file)) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(objectMapper.readValue(file.toFile(), ResumeAnalysis.class));
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable cache entry {}: {}", file, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private void writeToDisk(ResumeAnalysis analysis) {
+
+        if (diskDir == null) {
+            return;
+        }
+
+        try {
+            Path file = fileFor(analysis.digest());
+            Files.createDirectories(file.getParent());
+
+            Path tmp = file.resolveSibling(file.getFileName() + "." + Thread.currentThread().threadId() + ".tmp");
+            objectMapper.writeValue(tmp.toFile(), analysis);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        } catch (IOException e) {
+            log.warn("Could not write cache entry for {}: {}", analysis.digest(), e.getMessage());
+        }
+    }
+
+    // Two-level fan-out keeps directories small: ab/abcdef....json
+    private Path fileFor(String digest) {
+        return diskDir.resolve(digest.substring(0, 2)).resolve(digest + ".json");
+    }
+
+    private static long weigh(ResumeAnalysis analysis) {
+
+        long chars = analysis.digest().length();
+
+        if (analysis.resumeText() != null) {
+            chars += analysis.resumeText().length();
+        }
+
+        if (analysis.parsedResume() != null) {
+            chars += length(analysis.parsedResume().fullName()) + length(analysis.parsedResume().email());
+            for (String skill : analysis.parsedResume().skills()) {
+                chars += skill.length();
+            }
+            for (String project : analysis.parsedResume().projects()) {
+                chars += project.length();
+            }
+        }
+
+        return ENTRY_OVERHEAD_BYTES + chars * 2;
+    }
+
+    private static int length(String value) {
+        return value != null ? value.length() : 0;
+    }
+}
@@ -0,0 +1,13 @@
+package com.example.service.extraction;
+
+import java.time.Instant;
+
+public record ExtractionFailure(
+
+        String documentName,
+        int sizeBytes,
+        ExtractionFailureReason reason,
+        String message,
+        Instant failedAt
+
+) {}
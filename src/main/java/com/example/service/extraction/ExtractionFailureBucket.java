@@ -0,0 +1,66 @@
+package com.example.service.extraction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Keeps the most recent documents that could not be extracted, plus running
+ * totals per reason, so they can be inspected and retried instead of silently lost.
+ */
+@Component
+public class ExtractionFailureBucket {
+
+    private static final Logger log = LoggerFactory.getLogger(ExtractionFailureBucket.class);
+
+    private final int capacity;
+    private final Deque<ExtractionFailure> recent = new ArrayDeque<>();
+    private final Map<ExtractionFailureReason, LongAdder> totals = new EnumMap<>(ExtractionFailureReason.class);
+
+    public ExtractionFailureBucket(@Value("${extraction.failure-bucket-size:200}") int capacity) {
+        this.capacity = Math.max(1, capacity);
+        for (ExtractionFailureReason reason : ExtractionFailureReason.values()) {
+            totals.put(reason, new LongAdder());
+        }
+    }
+
+    public void record(String documentName, int sizeBytes, ExtractionFailureReason reason, String message) {
+
+        log.warn("Extraction failed [{}] for {} ({} bytes): {}", reason, documentName, sizeBytes, message);
+
+        totals.get(reason).increment();
+
+        synchronized (recent) {
+            if (recent.size() == capacity) {
+                recent.removeFirst();
+            }
+            recent.addLast(new ExtractionFailure(documentName, sizeBytes, reason, message, Instant.now()));
+        }
+    }
+
+    public List<ExtractionFailure> recent() {
+        synchronized (recent) {
+            return new ArrayList<>(recent);
+        }
+    }
+
+    public long total(ExtractionFailureReason reason) {
+        return totals.get(reason).sum();
+    }
+
+    public Map<ExtractionFailureReason, Long> totals() {
+        Map<ExtractionFailureReason, Long> result = new EnumMap<>(ExtractionFailureReason.class);
+        totals.forEach((reason, total) -> result.put(reason, total.sum()));
+        return result;
+    }
+}
@@ -0,0 +1,19 @@
+package com.example.service.extraction;
+
+public enum ExtractionFailureReason {
+
+    // Document exceeded the configured byte ceiling before parsing started
+    TOO_LARGE,
+
+    // No worker capacity became free within the admission timeout
+    REJECTED,
+
+    // Parsing ran past the per-document time budget
+    TIMED_OUT,
+
+    // The parser itself failed (corrupt or encrypted document)
+    PARSE_ERROR,
+
+    // Matched no known format and auto-detection found no text in it either
+    UNSUPPORTED
+}
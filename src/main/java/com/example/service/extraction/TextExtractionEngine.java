@@ -0,0 +1,264 @@
+package com.example.service.extraction;
+
+import com.example.service.extraction.format.DocumentFormatRegistry;
+import com.example.service.extraction.format.UnsupportedDocumentException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs text extraction on a dedicated, bounded worker pool so a pathological
+ * document can never pin the caller's thread. The extractor and its time
+ * budget are picked per format by the {@link DocumentFormatRegistry}.
+ *
+ * <ul>
+ *   <li>Documents over {@code extraction.max-document-bytes} are refused up front.</li>
+ *   <li>Callers block for at most {@code extraction.admission-timeout} waiting for a
+ *       worker or queue slot (backpressure); after that the document is rejected.</li>
+ *   <li>Each document gets its format's time budget ({@code extraction.formats.*.timeout})
+ *       of parse time before it is cancelled.</li>
+ *   <li>Extracted text is capped at {@code extraction.max-chars}.</li>
+ * </ul>
+ *
+ * Every refusal, timeout and parse error is recorded in the {@link ExtractionFailureBucket}.
+ */
+@Component
+public class TextExtractionEngine {
+
+    private static final Logger log = LoggerFactory.getLogger(TextExtractionEngine.class);
+
+    private final DocumentFormatRegistry formats;
+    private final ThreadPoolExecutor workers;
+    private final ScheduledExecutorService watchdog;
+    private final Semaphore admission;
+    private final ExtractionFailureBucket failures;
+
+    private final Duration admissionTimeout;
+    private final long maxDocumentBytes;
+
+    public TextExtractionEngine(
+            ExtractionFailureBucket failures,
+            DocumentFormatRegistry formats,
+            @Value("${extraction.pool-size:0}") int poolSize,
+            @Value("${extraction.queue-capacity:16}") int queueCapacity,
+            @Value("${extraction.admission-timeout:30s}") Duration admissionTimeout,
+            @Value("${extraction.max-document-bytes:20971520}") long maxDocumentBytes
+    ) {
+        int threads = poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors();
+        int queue = Math.max(1, queueCapacity);
+
+        this.failures = failures;
+        this.formats = formats;
+        this.admissionTimeout = admissionTimeout;
+        this.maxDocumentBytes = maxDocumentBytes;
+
+        // Admission permits == threads + queue slots, so execute() below never has to reject
+        this.admission = new Semaphore(threads + queue, true);
+
+        this.workers = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                daemonThreads("extraction-worker-"),
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+
+        // Finished extractions cancel their watchdog; drop those from the queue right away
+        ScheduledThreadPoolExecutor scheduler =
+                new ScheduledThreadPoolExecutor(1, daemonThreads("extraction-watchdog-"));
+        scheduler.setRemoveOnCancelPolicy(true);
+        this.watchdog = scheduler;
+    }
+
+    /**
+     * Extracts text on the worker pool. Blocks the caller only while waiting for
+     * admission; the returned future completes with the text or a
+     * {@link TextExtractionException}.
+     */
+    public CompletableFuture<String> extractAsync(String documentName, byte[] content) {
+
+        if (content.length > maxDocumentBytes) {
+            return CompletableFuture.failedFuture(fail(documentName, content.length,
+                    ExtractionFailureReason.TOO_LARGE,
+                    "document exceeds " + maxDocumentBytes + " bytes", null));
+        }
+
+        try {
+            if (!admission.tryAcquire(admissionTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                return CompletableFuture.failedFuture(fail(documentName, content.length,
+                        ExtractionFailureReason.REJECTED,
+                        "no extraction capacity within " + admissionTimeout, null));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(fail(documentName, content.length,
+                    ExtractionFailureReason.REJECTED, "interrupted while waiting for capacity", e));
+        }
+
+        CompletableFuture<String> result = new CompletableFuture<>();
+        ExtractionTask task = new ExtractionTask(documentName, content, formats.forContent(content), result);
+
+        try {
+            workers.execute(task);
+        } catch (RejectedExecutionException e) {
+            admission.release();
+            return CompletableFuture.failedFuture(fail(documentName, content.length,
+                    ExtractionFailureReason.REJECTED, "worker pool is shut down", e));
+        }
+
+        return result;
+    }
+
+    /**
+     * Blocking variant of {@link #extractAsync(String, byte[])}.
+     */
+    public String extract(String documentName, byte[] content) {
+        try {
+            return extractAsync(documentName, content).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TextExtractionException extractionException) {
+                throw extractionException;
+            }
+            throw e;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        watchdog.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    private TextExtractionException fail(
+            String documentName,
+            int sizeBytes,
+            ExtractionFailureReason reason,
+            String message,
+            Throwable cause) {
+
+        failures.record(documentName, sizeBytes, reason, message);
+        return new TextExtractionException(reason, "Failed to extract text from " + documentName + ": " + message, cause);
+    }
+
+    private static ThreadFactory daemonThreads(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * A single parse. The admission permit is handed back exactly once: when the
+     * parse finishes, or when the task is cancelled before it ever started. A parse
+     * that ignores interruption keeps its permit until it really ends, so stuck
+     * workers still count against capacity.
+     */
+    private final class ExtractionTask extends FutureTask<String> {
+
+        private final String documentName;
+        private final int sizeBytes;
+        private final Duration timeout;
+        private final CompletableFuture<String> result;
+        private final AtomicBoolean started = new AtomicBoolean();
+        private final AtomicBoolean permitReleased = new AtomicBoolean();
+        private volatile ScheduledFuture<?> expiry;
+
+        private ExtractionTask(
+                String documentName,
+                byte[] content,
+                DocumentFormatRegistry.Registration format,
+                CompletableFuture<String> result) {
+            super(() -> format.extractor().extract(content));
+            this.documentName = documentName;
+            this.sizeBytes = content.length;
+            this.timeout = format.timeout();
+            this.result = result;
+        }
+
+        @Override
+        public void run() {
+            if (!started.compareAndSet(false, true)) {
+                return;
+            }
+            // The time budget starts when parsing starts, not while queued
+            expiry = watchdog.schedule(this::expire, timeout.toMillis(), TimeUnit.MILLISECONDS);
+            if (isDone()) {
+                // Cancelled from outside before the watchdog was set: done() missed it
+                expiry.cancel(false);
+            }
+            try {
+                super.run();
+            } finally {
+                releasePermit();
+            }
+        }
+
+        @Override
+        protected void done() {
+
+            ScheduledFuture<?> pendingExpiry = expiry;
+            if (pendingExpiry != null) {
+                pendingExpiry.cancel(false);
+            }
+
+            if (!started.get()) {
+                // Cancelled while still queued: run() will never release it
+                releasePermit();
+            }
+
+            if (isCancelled()) {
+                return;
+            }
+
+            try {
+                result.complete(get());
+            } catch (Exception e) {
+                Throwable cause = e.getCause() != null ? e.getCause() : e;
+                ExtractionFailureReason reason = cause instanceof UnsupportedDocumentException
+                        ? ExtractionFailureReason.UNSUPPORTED
+                        : ExtractionFailureReason.PARSE_ERROR;
+                result.completeExceptionally(fail(documentName, sizeBytes,
+                        reason, String.valueOf(cause.getMessage()), cause));
+            }
+        }
+
+        private void expire() {
+            if (isDone()) {
+                return;
+            }
+            if (cancel(true)) {
+                log.warn("Cancelled extraction of {} after {}", documentName, timeout);
+                result.completeExceptionally(fail(documentName, sizeBytes,
+                        ExtractionFailureReason.TIMED_OUT, "exceeded time budget of " + timeout, null));
+            }
+        }
+
+        private void releasePermit() {
+            if (permitReleased.compareAndSet(false, true)) {
+                admission.release();
+            }
+        }
+    }
+}
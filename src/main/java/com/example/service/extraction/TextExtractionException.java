@@ -0,0 +1,15 @@
+package com.example.service.extraction;
+
+public class TextExtractionException extends RuntimeException {
+
+    private final ExtractionFailureReason reason;
+
+    public TextExtractionException(ExtractionFailureReason reason, String message, Throwable cause) {
+        super(message, cause);
+        this.reason = reason;
+    }
+
+    public ExtractionFailureReason getReason() {
+        return reason;
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.service.extraction.format;
+
+import com.example.util.DocumentFormat;
+import org.apache.tika.parser.AutoDetectParser;
+import org.apache.tika.parser.microsoft.OfficeParser;
+import org.apache.tika.parser.pdf.PDFParser;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Extractor and time budget per {@link DocumentFormat}, chosen from the
+ * document's magic bytes:
+ *
+ * <ul>
+ *   <li>PDF: Tika's PDF parser alone</li>
+ *   <li>DOCX: {@link DocxTextExtractor}, streaming the XML parts</li>
+ *   <li>DOC: Tika's OLE2 Office parser alone</li>
+ *   <li>anything else: full Tika auto-detection ({@link FallbackExtractor}),
+ *       which reports what it can't read as unsupported</li>
+ * </ul>
+ */
+@Component
+public class DocumentFormatRegistry {
+
+    private final Map<DocumentFormat, Registration> formats = new EnumMap<>(DocumentFormat.class);
+
+    public DocumentFormatRegistry(
+            @Value("${extraction.max-chars:200000}") int maxChars,
+            @Value("${extraction.timeout:20s}") Duration defaultTimeout,
+            @Value("${extraction.formats.pdf.timeout:20s}") Duration pdfTimeout,
+            @Value("${extraction.formats.docx.timeout:5s}") Duration docxTimeout,
+            @Value("${extraction.formats.doc.timeout:10s}") Duration docTimeout
+    ) {
+        register(DocumentFormat.PDF, new TikaParserExtractor(new PDFParser(), maxChars), pdfTimeout);
+        register(DocumentFormat.DOCX, new DocxTextExtractor(maxChars), docxTimeout);
+        register(DocumentFormat.DOC, new TikaParserExtractor(new OfficeParser(), maxChars), docTimeout);
+        register(DocumentFormat.UNKNOWN,
+                new FallbackExtractor(new TikaParserExtractor(new AutoDetectParser(), maxChars)), defaultTimeout);
+    }
+
+    public Registration forContent(byte[] content) {
+        return formats.get(DocumentFormat.detect(content));
+    }
+
+    private void register(DocumentFormat format, FormatExtractor extractor, Duration timeout) {
+        formats.put(format, new Registration(format, extractor, timeout));
+    }
+
+    public record Registration(
+            DocumentFormat format,
+            FormatExtractor extractor,
+            Duration timeout
+    ) {}
+}
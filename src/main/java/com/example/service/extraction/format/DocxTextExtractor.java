@@ -0,0 +1,135 @@
+package com.example.service.extraction.format;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.ByteArrayInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Reads the text of a DOCX straight from its WordprocessingML parts with a
+ * StAX reader: no DOM, no POI object model, no Tika detection. Runs
+ * ({@code w:t}), tabs within runs and breaks are kept; paragraphs end in a
+ * newline.
+ *
+ * Headers and footers are included and come before the body, since that is
+ * where many resumes keep the name and contact details.
+ */
+class DocxTextExtractor implements FormatExtractor {
+
+    private static final String BODY_PART = "word/document.xml";
+    private static final Pattern HEADER_FOOTER_PART = Pattern.compile("word/(header|footer)\\d*\\.xml");
+
+    private static final XMLInputFactory XML = secureFactory();
+
+    private final int maxChars;
+
+    DocxTextExtractor(int maxChars) {
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public String extract(byte[] content) throws IOException, XMLStreamException {
+
+        String body = null;
+        List<String> headersAndFooters = new ArrayList<>();
+
+        try (ZipInputStream zip = new ZipInputStream(new ByteArrayInputStream(content))) {
+
+            ZipEntry entry;
+
+            while ((entry = zip.getNextEntry()) != null) {
+
+                if (entry.getName().equals(BODY_PART)) {
+                    body = readPart(zip);
+                } else if (HEADER_FOOTER_PART.matcher(entry.getName()).matches()) {
+                    headersAndFooters.add(readPart(zip));
+                }
+            }
+        }
+
+        if (body == null) {
+            throw new IOException("DOCX has no " + BODY_PART);
+        }
+
+        StringBuilder text = new StringBuilder();
+        headersAndFooters.forEach(part -> text.append(part).append('\n'));
+        text.append(body);
+
+        return text.length() > maxChars ? text.substring(0, maxChars) : text.toString();
+    }
+
+    private String readPart(InputStream part) throws XMLStreamException {
+
+        // The JDK reader closes its input at end of document; the zip must stay open
+        XMLStreamReader reader = XML.createXMLStreamReader(new FilterInputStream(part) {
+            @Override
+            public void close() {
+            }
+        });
+        StringBuilder text = new StringBuilder();
+        boolean inRun = false;
+        boolean inText = false;
+
+        try {
+            while (reader.hasNext() && text.length() < maxChars) {
+
+                switch (reader.next()) {
+
+                    case XMLStreamConstants.START_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "r" -> inRun = true;
+                            case "t" -> inText = true;
+                            // Outside a run (w:pPr/w:tabs) a tab is a tab stop definition, not content
+                            case "tab" -> {
+                                if (inRun) {
+                                    text.append('\t');
+                                }
+                            }
+                            case "br", "cr" -> text.append('\n');
+                            default -> { }
+                        }
+                    }
+
+                    case XMLStreamConstants.CHARACTERS, XMLStreamConstants.CDATA -> {
+                        if (inText) {
+                            text.append(reader.getTextCharacters(), reader.getTextStart(), reader.getTextLength());
+                        }
+                    }
+
+                    case XMLStreamConstants.END_ELEMENT -> {
+                        switch (reader.getLocalName()) {
+                            case "r" -> inRun = false;
+                            case "t" -> inText = false;
+                            case "p" -> text.append('\n');
+                            default -> { }
+                        }
+                    }
+
+                    default -> { }
+                }
+            }
+        } finally {
+            reader.close();
+        }
+
+        return text.toString();
+    }
+
+    // Word parts never need a DTD; refusing them rules out entity expansion attacks
+    private static XMLInputFactory secureFactory() {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, false);
+        return factory;
+    }
+}
@@ -0,0 +1,33 @@
+package com.example.service.extraction.format;
+
+/**
+ * Extractor for documents whose magic bytes matched no known format: lets
+ * Tika auto-detect them, and reports whatever it can't parse, or parses into
+ * no text at all (images, archives, plain binaries), as unsupported.
+ */
+class FallbackExtractor implements FormatExtractor {
+
+    private final FormatExtractor autoDetect;
+
+    FallbackExtractor(FormatExtractor autoDetect) {
+        this.autoDetect = autoDetect;
+    }
+
+    @Override
+    public String extract(byte[] content) throws UnsupportedDocumentException {
+
+        String text;
+
+        try {
+            text = autoDetect.extract(content);
+        } catch (Exception e) {
+            throw new UnsupportedDocumentException("no parser could read it: " + e.getMessage(), e);
+        }
+
+        if (text == null || text.isBlank()) {
+            throw new UnsupportedDocumentException("no text found", null);
+        }
+
+        return text;
+    }
+}
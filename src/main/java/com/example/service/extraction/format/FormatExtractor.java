@@ -0,0 +1,10 @@
+package com.example.service.extraction.format;
+
+/**
+ * Turns the bytes of one document format into plain text, capped at the
+ * extractor's character limit.
+ */
+public interface FormatExtractor {
+
+    String extract(byte[] content) throws Exception;
+}
@@ -0,0 +1,43 @@
+package com.example.service.extraction.format;
+
+import org.apache.tika.exception.WriteLimitReachedException;
+import org.apache.tika.metadata.Metadata;
+import org.apache.tika.parser.ParseContext;
+import org.apache.tika.parser.Parser;
+import org.apache.tika.sax.BodyContentHandler;
+import org.xml.sax.SAXException;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+
+/**
+ * Runs one specific Tika parser, skipping the auto-detection pass when the
+ * format is already known.
+ */
+class TikaParserExtractor implements FormatExtractor {
+
+    private final Parser parser;
+    private final int maxChars;
+
+    TikaParserExtractor(Parser parser, int maxChars) {
+        this.parser = parser;
+        this.maxChars = maxChars;
+    }
+
+    @Override
+    public String extract(byte[] content) throws Exception {
+
+        BodyContentHandler handler = new BodyContentHandler(maxChars);
+
+        try (InputStream in = new ByteArrayInputStream(content)) {
+            parser.parse(in, handler, new Metadata(), new ParseContext());
+        } catch (SAXException e) {
+            // Hitting the character cap just ends the parse early
+            if (!WriteLimitReachedException.isWriteLimitReached(e)) {
+                throw e;
+            }
+        }
+
+        return handler.toString();
+    }
+}
@@ -0,0 +1,12 @@
+package com.example.service.extraction.format;
+
+/**
+ * The document is not one text can be extracted from at all, as opposed to a
+ * readable format that failed to parse.
+ */
+public class UnsupportedDocumentException extends Exception {
+
+    public UnsupportedDocumentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
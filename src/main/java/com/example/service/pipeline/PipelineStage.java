@@ -0,0 +1,118 @@
+package com.example.service.pipeline;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * One stage of the resume pipeline: a fixed pool of workers behind a bounded
+ * queue.
+ *
+ * {@link #submit} blocks while every worker is busy and the queue is full, so
+ * a slow stage pushes back on whoever feeds it instead of buffering without
+ * limit. {@link #drain} stops intake and lets queued work finish.
+ */
+public class PipelineStage {
+
+    private static final Logger log = LoggerFactory.getLogger(PipelineStage.class);
+
+    private final String name;
+    private final ThreadPoolExecutor workers;
+
+    // Permits == threads + queue slots, so execute() below never has to reject
+    private final Semaphore capacity;
+
+    public PipelineStage(String name, int threads, int queueCapacity) {
+
+        int queue = Math.max(1, queueCapacity);
+
+        this.name = name;
+        this.capacity = new Semaphore(threads + queue, true);
+
+        AtomicInteger counter = new AtomicInteger();
+
+        this.workers = new ThreadPoolExecutor(
+                threads,
+                threads,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queue),
+                r -> {
+                    Thread t = new Thread(r, "pipeline-" + name + "-" + counter.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy()
+        );
+    }
+
+    public <T> CompletableFuture<T> submit(Supplier<T> work) {
+
+        try {
+            capacity.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Interrupted waiting for stage " + name, e));
+        }
+
+        CompletableFuture<T> result = new CompletableFuture<>();
+
+        try {
+            workers.execute(() -> {
+                try {
+                    result.complete(work.get());
+                } catch (Throwable t) {
+                    result.completeExceptionally(t);
+                } finally {
+                    capacity.release();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            capacity.release();
+            return CompletableFuture.failedFuture(
+                    new RejectedExecutionException("Stage " + name + " is shut down", e));
+        }
+
+        return result;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getQueued() {
+        return workers.getQueue().size();
+    }
+
+    public int getActive() {
+        return workers.getActiveCount();
+    }
+
+    /**
+     * Refuses new work and waits up to the timeout for accepted work to finish.
+     */
+    public void drain(Duration timeout) {
+
+        workers.shutdown();
+
+        try {
+            if (!workers.awaitTermination(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                log.warn("Stage {} did not drain within {}; {} task(s) abandoned",
+                        name, timeout, workers.shutdownNow().size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            workers.shutdownNow();
+        }
+    }
+}
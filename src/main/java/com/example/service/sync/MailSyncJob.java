@@ -0,0 +1,181 @@
+package com.example.service.sync;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One mailbox sync and its live progress. Counters are updated from the
+ * sync's worker threads and may be read at any time.
+ */
+public class MailSyncJob {
+
+    public enum Status {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED,
+        // Another sync of the same mailbox was already running
+        SKIPPED
+    }
+
+    private final String id = UUID.randomUUID().toString();
+    private final String mailboxKey;
+    private final Instant createdAt = Instant.now();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    private final AtomicInteger messagesScanned = new AtomicInteger();
+    private final AtomicInteger attachmentsProcessed = new AtomicInteger();
+    private final AtomicInteger attachmentsSkipped = new AtomicInteger();
+    private final AtomicInteger candidatesSaved = new AtomicInteger();
+    private final AtomicInteger duplicates = new AtomicInteger();
+    private final AtomicInteger failedMessages = new AtomicInteger();
+    private final AtomicInteger failedAttachments = new AtomicInteger();
+
+    private final Map<String, StageTimer> stages = new ConcurrentHashMap<>();
+
+    public MailSyncJob(String mailboxKey) {
+        this.mailboxKey = mailboxKey;
+    }
+
+    void start() {
+        startedAt = Instant.now();
+        status = Status.RUNNING;
+    }
+
+    void complete() {
+        finishedAt = Instant.now();
+        if (status == Status.RUNNING) {
+            status = Status.COMPLETED;
+        }
+    }
+
+    void skipped() {
+        finishedAt = Instant.now();
+        status = Status.SKIPPED;
+    }
+
+    public void failed(Exception e) {
+        error = e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName();
+        status = Status.FAILED;
+    }
+
+    public boolean isActive() {
+        return status == Status.QUEUED || status == Status.RUNNING;
+    }
+
+    public void messageScanned() {
+        messagesScanned.incrementAndGet();
+    }
+
+    public void messageFailed() {
+        failedMessages.incrementAndGet();
+    }
+
+    public void attachmentProcessed() {
+        attachmentsProcessed.incrementAndGet();
+    }
+
+    public void attachmentSkipped() {
+        attachmentsSkipped.incrementAndGet();
+    }
+
+    public void attachmentFailed() {
+        failedAttachments.incrementAndGet();
+    }
+
+    public void candidateSaved() {
+        candidatesSaved.incrementAndGet();
+    }
+
+    public void duplicateFound() {
+        duplicates.incrementAndGet();
+    }
+
+    /**
+     * Adds the time since {@code startNanos} (a {@link System#nanoTime()}) to the stage.
+     */
+    public void recordStage(String stage, long startNanos) {
+        stages.computeIfAbsent(stage, s -> new StageTimer()).record(System.nanoTime() - startNanos);
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getMailboxKey() {
+        return mailboxKey;
+    }
+
+    public Status getStatus() {
+        return status;
+    }
+
+    public Instant getCreatedAt() {
+        return createdAt;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public String getError() {
+        return error;
+    }
+
+    public Map<String, Integer> getCounters() {
+        Map<String, Integer> counters = new LinkedHashMap<>();
+        counters.put("messagesScanned", messagesScanned.get());
+        counters.put("attachmentsProcessed", attachmentsProcessed.get());
+        counters.put("attachmentsSkipped", attachmentsSkipped.get());
+        counters.put("candidatesSaved", candidatesSaved.get());
+        counters.put("duplicates", duplicates.get());
+        counters.put("failedMessages", failedMessages.get());
+        counters.put("failedAttachments", failedAttachments.get());
+        return counters;
+    }
+
+    /**
+     * Per stage: how often it ran, total and slowest time in milliseconds.
+     * Stages run concurrently, so totals can add up to more than the job's
+     * wall-clock time.
+     */
+    public Map<String, Map<String, Long>> getStageTimings() {
+        Map<String, Map<String, Long>> timings = new LinkedHashMap<>();
+        stages.forEach((stage, timer) -> timings.put(stage, timer.snapshot()));
+        return timings;
+    }
+
+    private static final class StageTimer {
+
+        private final AtomicLong count = new AtomicLong();
+        private final AtomicLong totalNanos = new AtomicLong();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        void record(long nanos) {
+            count.incrementAndGet();
+            totalNanos.addAndGet(nanos);
+            maxNanos.accumulateAndGet(nanos, Math::max);
+        }
+
+        Map<String, Long> snapshot() {
+            Map<String, Long> snapshot = new LinkedHashMap<>();
+            snapshot.put("count", count.get());
+            snapshot.put("totalMillis", totalNanos.get() / 1_000_000);
+            snapshot.put("maxMillis", maxNanos.get() / 1_000_000);
+            return snapshot;
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.example.service.sync;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+/**
+ * Runs mailbox syncs off the request thread and keeps the most recent ones
+ * (bounded by {@code graph.mail.jobs.retained}) for status queries.
+ *
+ * Submitting a mailbox that already has a queued or running job returns
+ * that job instead of starting a second one.
+ */
+@Component
+public class MailSyncJobs {
+
+    private static final Logger log = LoggerFactory.getLogger(MailSyncJobs.class);
+
+    private final int retained;
+    private final ExecutorService executor;
+
+    // Insertion order, oldest first
+    private final LinkedHashMap<String, MailSyncJob> jobs = new LinkedHashMap<>();
+
+    public MailSyncJobs(
+            @Value("${graph.mail.jobs.workers:2}") int workers,
+            @Value("${graph.mail.jobs.retained:100}") int retained
+    ) {
+        this.retained = Math.max(1, retained);
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(Math.max(1, workers), r -> {
+            Thread t = new Thread(r, "mail-sync-" + threadNumber.incrementAndGet());
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    /**
+     * Queues a sync of the mailbox and returns its job right away. The sync
+     * returns false when it found the mailbox already being synced.
+     */
+    public MailSyncJob submit(String mailboxKey, Predicate<MailSyncJob> sync) {
+
+        MailSyncJob job;
+
+        synchronized (jobs) {
+
+            Optional<MailSyncJob> active = jobs.values().stream()
+                    .filter(j -> j.isActive() && j.getMailboxKey().equals(mailboxKey))
+                    .findFirst();
+
+            if (active.isPresent()) {
+                return active.get();
+            }
+
+            job = register(mailboxKey);
+        }
+
+        executor.execute(() -> run(job, sync));
+        return job;
+    }
+
+    /**
+     * Runs a sync on the calling thread, tracked like a submitted one.
+     */
+    public MailSyncJob runNow(String mailboxKey, Predicate<MailSyncJob> sync) {
+
+        MailSyncJob job;
+
+        synchronized (jobs) {
+            job = register(mailboxKey);
+        }
+
+        run(job, sync);
+        return job;
+    }
+
+    public Optional<MailSyncJob> find(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /**
+     * Retained jobs, newest first.
+     */
+    public List<MailSyncJob> recent() {
+        synchronized (jobs) {
+            List<MailSyncJob> recent = new ArrayList<>(jobs.values());
+            Collections.reverse(recent);
+            return recent;
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        executor.shutdownNow();
+    }
+
+    private MailSyncJob register(String mailboxKey) {
+
+        MailSyncJob job = new MailSyncJob(mailboxKey);
+        jobs.put(job.getId(), job);
+
+        // Drop the oldest finished jobs beyond the limit; active ones stay visible
+        var oldest = jobs.values().iterator();
+        while (jobs.size() > retained && oldest.hasNext()) {
+            if (!oldest.next().isActive()) {
+                oldest.remove();
+            }
+        }
+
+        return job;
+    }
+
+    private void run(MailSyncJob job, Predicate<MailSyncJob> sync) {
+
+        job.start();
+
+        try {
+            if (sync.test(job)) {
+                job.complete();
+            } else {
+                job.skipped();
+            }
+
+        } catch (RuntimeException e) {
+            log.error("Mail sync {} failed: {}", job.getId(), e.getMessage(), e);
+            job.failed(e);
+            job.complete();
+        }
+
+        log.info("Mail sync {} for {} finished as {}: {}",
+                job.getId(), job.getMailboxKey(), job.getStatus(), job.getCounters());
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.util;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Resume file formats, told apart by their leading (magic) bytes rather than
+ * the file name, which mail clients and applicants get wrong often enough.
+ */
+public enum DocumentFormat {
+
+    PDF("application/pdf", ".pdf"),
+    DOCX("application/vnd.openxmlformats-officedocument.wordprocessingml.document", ".docx"),
+    // OLE2 compound file holding a WordDocument stream; other OLE2 files (xls, msg, ...) are UNKNOWN
+    DOC("application/msword", ".doc"),
+    UNKNOWN("application/octet-stream", "");
+
+    private static final byte[] PDF_MAGIC = ascii("%PDF-");
+    private static final byte[] ZIP_MAGIC = {'P', 'K', 3, 4};
+    private static final byte[] OLE2_MAGIC = {
+            (byte) 0xD0, (byte) 0xCF, 0x11, (byte) 0xE0, (byte) 0xA1, (byte) 0xB1, 0x1A, (byte) 0xE1
+    };
+    private static final byte[] DOCX_PART = ascii("word/document.xml");
+
+    // OLE2 directory entries: 128 bytes, UTF-16LE name first, its byte length (with the NUL) at 64
+    private static final int OLE2_ENTRY_SIZE = 128;
+    private static final int OLE2_NAME_LENGTH_OFFSET = 64;
+    private static final byte[] WORD_STREAM = utf16le("WordDocument");
+
+    // PDF readers accept junk before the header within the first KiB
+    private static final int PDF_HEADER_WINDOW = 1024;
+
+    // The ZIP central directory, which lists every part name, sits at the end of the file
+    private static final int ZIP_DIRECTORY_WINDOW = 64 * 1024;
+
+    private final String mimeType;
+    private final String extension;
+
+    DocumentFormat(String mimeType, String extension) {
+        this.mimeType = mimeType;
+        this.extension = extension;
+    }
+
+    public String mimeType() {
+        return mimeType;
+    }
+
+    // File extension with its dot, empty for UNKNOWN
+    public String extension() {
+        return extension;
+    }
+
+    public static DocumentFormat detect(byte[] content) {
+
+        if (startsWith(content, OLE2_MAGIC)) {
+            return hasWordStream(content) ? DOC : UNKNOWN;
+        }
+
+        if (startsWith(content, ZIP_MAGIC)) {
+            int from = Math.max(0, content.length - ZIP_DIRECTORY_WINDOW);
+            return indexOf(content, DOCX_PART, from, content.length) >= 0 ? DOCX : UNKNOWN;
+        }
+
+        if (indexOf(content, PDF_MAGIC, 0, Math.min(content.length, PDF_HEADER_WINDOW)) >= 0) {
+            return PDF;
+        }
+
+        return UNKNOWN;
+    }
+
+    /**
+     * Looks for a directory entry named WordDocument. Sectors, and so the
+     * directory entries in them, always start on a 128-byte boundary, which
+     * keeps the scan cheap and away from stream data that happens to contain
+     * the name.
+     */
+    private static boolean hasWordStream(byte[] content) {
+
+        int nameLength = WORD_STREAM.length + 2;
+
+        for (int entry = 0; entry + OLE2_ENTRY_SIZE <= content.length; entry += OLE2_ENTRY_SIZE) {
+
+            int storedLength = (content[entry + OLE2_NAME_LENGTH_OFFSET] & 0xFF) |
+                    (content[entry + OLE2_NAME_LENGTH_OFFSET + 1] & 0xFF) << 8;
+
+            if (storedLength == nameLength &&
+                    indexOf(content, WORD_STREAM, entry, entry + WORD_STREAM.length) == entry) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean startsWith(byte[] content, byte[] prefix) {
+        return indexOf(content, prefix, 0, Math.min(content.length, prefix.length)) == 0;
+    }
+
+    private static int indexOf(byte[] content, byte[] pattern, int from, int to) {
+
+        outer:
+        for (int i = from; i <= to - pattern.length; i++) {
+            for (int j = 0; j < pattern.length; j++) {
+                if (content[i + j] != pattern[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+
+        return -1;
+    }
+
+    private static byte[] ascii(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+
+    private static byte[] utf16le(String text) {
+        return text.getBytes(StandardCharsets.UTF_16LE);
+    }
+}
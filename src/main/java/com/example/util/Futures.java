@@ -0,0 +1,26 @@
+package com.example.util;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+public final class Futures {
+
+    private Futures() {
+    }
+
+    /**
+     * Waits for the future and throws what it failed with: a runtime
+     * exception as it is, anything else (checked exception, Error) wrapped.
+     */
+    public static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause() != null ? e.getCause() : e;
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.example.assessment.queue;
+
+import com.example.assessment.queue.AssessmentJournal.Pending;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AssessmentJournalTest {
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void replaysUnfinishedJobsWithTheirStartedAttempts() throws IOException {
+
+        Path file = dir.resolve("queue.log");
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            journal.enqueued("a", "sha-a");
+            journal.enqueued("b", "sha-b");
+            journal.enqueued("c", null);
+            journal.started(List.of(job("a", 1), job("b", 1)));
+            journal.started(List.of(job("a", 2)));
+            journal.finished("b");
+        }
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            Map<String, Pending> pending = journal.pending();
+
+            assertEquals(List.of("a", "c"), List.copyOf(pending.keySet()));
+            assertEquals(new Pending("sha-a", 2), pending.get("a"));
+            assertEquals(new Pending(null, 0), pending.get("c"));
+        }
+    }
+
+    @Test
+    void compactsToPendingJobsAndKeepsAttempts() throws IOException {
+
+        Path file = dir.resolve("queue.log");
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            journal.enqueued("a", "sha-a");
+            journal.enqueued("b", "sha-b");
+            journal.enqueued("c", null);
+            journal.started(List.of(job("a", 1), job("b", 1)));
+            journal.finished("b");
+        }
+
+        // Opening the journal rewrites it with only what is still pending
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            assertEquals(2, journal.pending().size());
+        }
+
+        assertEquals(List.of("E a sha-a", "A a 1", "E c -"), Files.readAllLines(file));
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            assertEquals(new Pending("sha-a", 1), journal.pending().get("a"));
+        }
+    }
+
+    @Test
+    void ignoresTornLastLine() throws IOException {
+
+        Path file = dir.resolve("queue.log");
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            journal.enqueued("a", "sha-a");
+            journal.started(List.of(job("a", 1)));
+        }
+
+        // Crash in the middle of appending the next attempt record
+        Files.writeString(file, "A a", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            assertEquals(Map.of("a", new Pending("sha-a", 1)), journal.pending());
+        }
+
+        // ...or of the next enqueue
+        Files.writeString(file, "E b", StandardCharsets.UTF_8, StandardOpenOption.APPEND);
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            assertEquals(Map.of("a", new Pending("sha-a", 1)), journal.pending());
+        }
+    }
+
+    @Test
+    void ignoresAttemptsOfFinishedJobs() throws IOException {
+
+        Path file = dir.resolve("queue.log");
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            journal.enqueued("a", "sha-a");
+            journal.finished("a");
+            journal.started(List.of(job("a", 3)));
+        }
+
+        try (AssessmentJournal journal = new AssessmentJournal(file)) {
+            assertTrue(journal.pending().isEmpty());
+        }
+    }
+
+    private static AssessmentJob job(String candidateId, int attempt) {
+        return new AssessmentJob(candidateId, null, attempt, 0);
+    }
+}
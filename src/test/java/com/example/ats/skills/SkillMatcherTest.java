@@ -0,0 +1,97 @@
+package com.example.ats.skills;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SkillMatcherTest {
+
+    @Test
+    void matchesOnlyOnWordBoundaries() {
+
+        SkillMatcher matcher = compile(
+                "java", List.of(),
+                "javascript", List.of(),
+                "node", List.of("node.js"));
+
+        assertEquals(List.of("javascript"), matcher.match("javascript developer"));
+        assertEquals(List.of(), matcher.match("nodes and edges"));
+        assertEquals(List.of("java", "node"), matcher.match("skills: java, node.js (5 yrs)"));
+        assertEquals(List.of("java"), matcher.match("java"));
+    }
+
+    @Test
+    void reportsOverlappingPatterns() {
+
+        SkillMatcher matcher = compile(
+                "sql", List.of(),
+                "nosql", List.of(),
+                "postgresql", List.of("postgres"),
+                "spring", List.of(),
+                "spring boot", List.of());
+
+        // "sql" sits inside both longer names and must not fire; "spring" and "spring boot" both do
+        assertEquals(List.of("nosql", "postgresql", "spring", "spring boot"),
+                matcher.match("postgresql, nosql and spring boot"));
+        assertEquals(List.of("sql", "postgresql"), matcher.match("sql on postgres"));
+    }
+
+    @Test
+    void boundaryIsOnlyCheckedOnWordCharacterEnds() {
+
+        SkillMatcher matcher = compile(
+                "c++", List.of(),
+                "c#", List.of(),
+                ".net", List.of());
+
+        assertEquals(List.of("c++", "c#", ".net"), matcher.match("c++/c#/asp.net"));
+    }
+
+    @Test
+    void keepsAliasWithTheFirstSkillThatDeclaresIt() {
+
+        SkillMatcher matcher = compile(
+                "go", List.of("golang"),
+                "golang", List.of());
+
+        assertEquals(2, matcher.skillCount());
+        assertEquals(List.of("go"), matcher.match("golang services"));
+    }
+
+    @Test
+    void lowercasesPatternsIndependentlyOfDefaultLocale() {
+
+        Locale defaultLocale = Locale.getDefault();
+
+        try {
+            // Turkish lowercases 'I' to a dotless i
+            Locale.setDefault(Locale.forLanguageTag("tr-TR"));
+
+            SkillMatcher matcher = compile("JIRA", List.of("CI/CD"));
+
+            assertEquals(List.of("JIRA"), matcher.match("jira and ci/cd pipelines"));
+
+        } finally {
+            Locale.setDefault(defaultLocale);
+        }
+    }
+
+    // Skill name and aliases, alternating, in taxonomy order
+    private static SkillMatcher compile(Object... skillsAndAliases) {
+
+        Map<String, List<String>> entries = new LinkedHashMap<>();
+
+        for (int i = 0; i < skillsAndAliases.length; i += 2) {
+            @SuppressWarnings("unchecked")
+            List<String> aliases = (List<String>) skillsAndAliases[i + 1];
+            entries.put((String) skillsAndAliases[i], aliases);
+        }
+
+        return SkillMatcher.compile(entries);
+    }
+}
@@ -0,0 +1,118 @@
+package com.example.infrastructure.graph;
+
+import com.example.infrastructure.graph.StubGraphServer.Call;
+import com.example.infrastructure.graph.StubGraphServer.Reply;
+import com.microsoft.graph.models.AttachmentCollectionResponse;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import com.microsoft.kiota.ApiException;
+import com.microsoft.kiota.RequestInformation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GraphBatchTest {
+
+    private static final String ATTACHMENTS = "/me/messages/[^/]+/attachments";
+
+    private StubGraphServer graph;
+    private GraphServiceClient graphClient;
+
+    @BeforeEach
+    void startGraph() throws IOException {
+        graph = new StubGraphServer();
+        graphClient = graph.client();
+
+        // Each message has one attachment named after it
+        graph.on("GET", ATTACHMENTS, call -> Reply.ok(
+                "{\"value\":[{\"@odata.type\":\"#microsoft.graph.fileAttachment\",\"id\":\"att-" +
+                        messageId(call) + "\",\"name\":\"" + messageId(call) + ".pdf\"}]}"));
+    }
+
+    @AfterEach
+    void stopGraph() throws IOException {
+        graph.close();
+    }
+
+    @Test
+    void returnsEveryStepOfOneRoundTrip() throws IOException {
+
+        var results = GraphBatch.send(graphClient, attachmentRequests("m1", "m2", "m3"),
+                AttachmentCollectionResponse::createFromDiscriminatorValue);
+
+        assertEquals(List.of("m1", "m2", "m3"), results.keySet().stream().sorted().toList());
+        results.forEach((messageId, page) ->
+                assertEquals("att-" + messageId, page.getValue().get(0).getId()));
+
+        assertEquals(1, graph.batches().size());
+        assertEquals(3, graph.batches().get(0).size());
+        assertTrue(graph.directCalls().isEmpty());
+    }
+
+    @Test
+    void leavesOutStepsThatFailed() throws IOException {
+
+        graph.on("GET", "/me/messages/throttled/attachments", Reply.error(429));
+        graph.on("GET", "/me/messages/broken/attachments", Reply.error(500));
+
+        var results = GraphBatch.send(graphClient, attachmentRequests("m1", "throttled", "broken", "m2"),
+                AttachmentCollectionResponse::createFromDiscriminatorValue);
+
+        assertEquals(List.of("m1", "m2"), results.keySet().stream().sorted().toList());
+
+        // Failed steps are the caller's to retry; the batch itself never retries them
+        assertEquals(1, graph.batches().size());
+        assertTrue(graph.directCalls().isEmpty());
+    }
+
+    @Test
+    void splitsRequestsIntoBatchesOfTwenty() throws IOException {
+
+        String[] messageIds = new String[45];
+        for (int i = 0; i < messageIds.length; i++) {
+            messageIds[i] = "m" + i;
+        }
+
+        var results = GraphBatch.send(graphClient, attachmentRequests(messageIds),
+                AttachmentCollectionResponse::createFromDiscriminatorValue);
+
+        assertEquals(45, results.size());
+        assertEquals(List.of(20, 20, 5), graph.batches().stream().map(List::size).toList());
+    }
+
+    @Test
+    void throwsWhenTheBatchItselfIsRejected() {
+
+        graph.failBatches(400);
+
+        assertThrows(ApiException.class, () -> GraphBatch.send(graphClient, attachmentRequests("m1"),
+                AttachmentCollectionResponse::createFromDiscriminatorValue));
+    }
+
+    private Map<String, RequestInformation> attachmentRequests(String... messageIds) {
+
+        Map<String, RequestInformation> requests = new LinkedHashMap<>();
+
+        for (String messageId : messageIds) {
+            requests.put(messageId, graphClient.me()
+                    .messages()
+                    .byMessageId(messageId)
+                    .attachments()
+                    .toGetRequestInformation());
+        }
+
+        return requests;
+    }
+
+    private static String messageId(Call call) {
+        return call.path().split("/")[3];
+    }
+}
@@ -0,0 +1,206 @@
+package com.example.infrastructure.graph;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import com.microsoft.kiota.authentication.AnonymousAuthenticationProvider;
+import okhttp3.HttpUrl;
+import okhttp3.mockwebserver.Dispatcher;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import okio.GzipSource;
+import okio.Okio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Function;
+
+/**
+ * MockWebServer standing in for Microsoft Graph. Routes answer direct calls
+ * and {@code $batch} steps alike; every call is recorded, batched ones
+ * together with the batch they came in.
+ */
+public class StubGraphServer implements Closeable {
+
+    private static final String BATCH_PATH = "/$batch";
+
+    private final MockWebServer server = new MockWebServer();
+    private final ObjectMapper json = new ObjectMapper();
+
+    private final List<Route> routes = new CopyOnWriteArrayList<>();
+    private final List<Call> directCalls = new CopyOnWriteArrayList<>();
+    private final List<List<Call>> batches = new CopyOnWriteArrayList<>();
+
+    private volatile int batchStatus = 200;
+
+    public StubGraphServer() throws IOException {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                try {
+                    return StubGraphServer.this.dispatch(request);
+                } catch (IOException e) {
+                    return new MockResponse().setResponseCode(500);
+                }
+            }
+        });
+        server.start();
+    }
+
+    /**
+     * Graph client talking to this server; like the real base URL it ends in
+     * the API version, which {@code $batch} strips from step URLs.
+     */
+    public GraphServiceClient client() {
+        GraphServiceClient client = new GraphServiceClient(new AnonymousAuthenticationProvider());
+        client.getRequestAdapter().setBaseUrl(baseUrl());
+        return client;
+    }
+
+    public String baseUrl() {
+        return server.url("/v1.0").toString();
+    }
+
+    /**
+     * Answers {@code method} on paths matching {@code pathPattern} (a regex on
+     * the decoded path below the version, e.g. {@code /users/x/messages}).
+     * Later routes take precedence.
+     */
+    public StubGraphServer on(String method, String pathPattern, Function<Call, Reply> reply) {
+        routes.add(0, new Route(method, pathPattern, reply));
+        return this;
+    }
+
+    public StubGraphServer on(String method, String pathPattern, Reply reply) {
+        return on(method, pathPattern, call -> reply);
+    }
+
+    // Fails every $batch request as a whole with this status
+    public void failBatches(int status) {
+        this.batchStatus = status;
+    }
+
+    public List<Call> directCalls() {
+        return List.copyOf(directCalls);
+    }
+
+    public List<Call> directCalls(String method, String path) {
+        return directCalls.stream()
+                .filter(call -> call.method().equals(method) && call.path().equals(path))
+                .toList();
+    }
+
+    public List<List<Call>> batches() {
+        return List.copyOf(batches);
+    }
+
+    @Override
+    public void close() throws IOException {
+        server.shutdown();
+    }
+
+    private MockResponse dispatch(RecordedRequest request) throws IOException {
+
+        String path = decodedPath(request.getRequestUrl());
+        String body = body(request);
+
+        if (request.getMethod().equals("POST") && path.equals(BATCH_PATH)) {
+            return batch(body);
+        }
+
+        Call call = new Call(request.getMethod(), path, body, false);
+        directCalls.add(call);
+
+        Reply reply = reply(call);
+
+        return new MockResponse()
+                .setResponseCode(reply.status())
+                .setHeader("Content-Type", "application/json")
+                .setBody(reply.body());
+    }
+
+    private MockResponse batch(String body) throws IOException {
+
+        List<Call> calls = new CopyOnWriteArrayList<>();
+        batches.add(calls);
+
+        if (batchStatus != 200) {
+            return new MockResponse()
+                    .setResponseCode(batchStatus)
+                    .setHeader("Content-Type", "application/json")
+                    .setBody(Reply.error(batchStatus).body());
+        }
+
+        ArrayNode responses = json.createArrayNode();
+
+        for (JsonNode step : json.readTree(body).path("requests")) {
+
+            HttpUrl url = HttpUrl.get("http://graph" + step.path("url").asText());
+            Call call = new Call(step.path("method").asText(), decodedPath(url),
+                    step.has("body") ? step.get("body").toString() : "", true);
+            calls.add(call);
+
+            Reply reply = reply(call);
+
+            ObjectNode response = responses.addObject();
+            response.put("id", step.path("id").asText());
+            response.put("status", reply.status());
+            response.putObject("headers").put("Content-Type", "application/json");
+            response.set("body", json.readTree(reply.body()));
+        }
+
+        ObjectNode result = json.createObjectNode();
+        result.set("responses", responses);
+
+        return new MockResponse()
+                .setHeader("Content-Type", "application/json")
+                .setBody(result.toString());
+    }
+
+    private Reply reply(Call call) {
+        return routes.stream()
+                .filter(route -> route.method().equals(call.method()) && call.path().matches(route.pathPattern()))
+                .findFirst()
+                .map(route -> route.reply().apply(call))
+                .orElse(Reply.error(404));
+    }
+
+    // Decoded path without the API version segment
+    private static String decodedPath(HttpUrl url) {
+        List<String> segments = url.pathSegments();
+        if (!segments.isEmpty() && segments.get(0).equals("v1.0")) {
+            segments = segments.subList(1, segments.size());
+        }
+        return "/" + String.join("/", segments);
+    }
+
+    private static String body(RecordedRequest request) throws IOException {
+        Buffer body = request.getBody();
+        if ("gzip".equalsIgnoreCase(request.getHeader("Content-Encoding"))) {
+            return Okio.buffer(new GzipSource(body)).readUtf8();
+        }
+        return body.readUtf8();
+    }
+
+    public record Call(String method, String path, String body, boolean batched) {}
+
+    public record Reply(int status, String body) {
+
+        public static Reply ok(String body) {
+            return new Reply(200, body);
+        }
+
+        public static Reply error(int status) {
+            return new Reply(status,
+                    "{\"error\":{\"code\":\"stubbed\",\"message\":\"Stubbed " + status + "\"}}");
+        }
+    }
+
+    private record Route(String method, String pathPattern, Function<Call, Reply> reply) {}
+}
@@ -0,0 +1,129 @@
+package com.example.service;
+
+import com.example.model.Candidate;
+import com.example.repository.CandidateDynamoRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import software.amazon.awssdk.core.exception.SdkClientException;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbEnhancedClient;
+import software.amazon.awssdk.enhanced.dynamodb.DynamoDbTable;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteItemEnhancedRequest;
+import software.amazon.awssdk.enhanced.dynamodb.model.BatchWriteResult;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Runs the writer over a real {@link CandidateDynamoRepository} whose
+ * enhanced client is mocked, so partial BatchWriteItem outcomes reach the
+ * callers the way they would against DynamoDB.
+ */
+class CandidateBatchWriterTest {
+
+    private DynamoDbEnhancedClient client;
+    private DynamoDbTable<Candidate> table;
+    private CandidateBatchWriter writer;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void setUp() {
+
+        client = mock(DynamoDbEnhancedClient.class);
+        table = mock(DynamoDbTable.class);
+        doReturn(table).when(client).table(anyString(), any());
+
+        // Two attempts per chunk, no backoff delay
+        CandidateDynamoRepository repository = new CandidateDynamoRepository(client, 2, 0);
+
+        // Flushed by hand; the linger never fires during a test
+        writer = new CandidateBatchWriter(repository, 25, Duration.ofHours(1));
+    }
+
+    @Test
+    void failsOnlyCandidatesLeftAfterPartialWriteAndThrowingRetry() {
+
+        Candidate first = candidate("c1");
+        Candidate second = candidate("c2");
+        Candidate third = candidate("c3");
+
+        // Attempt 1 stores c1 and c2 and hands c3 back (as a new instance);
+        // attempt 2, resending c3, fails outright
+        BatchWriteResult partial = mock(BatchWriteResult.class);
+        when(partial.unprocessedPutItemsForTable(table)).thenReturn(List.of(candidate("c3")));
+
+        SdkClientException outage = SdkClientException.create("connection reset");
+        when(client.batchWriteItem(anyRequest()))
+                .thenReturn(partial)
+                .thenThrow(outage);
+
+        CompletableFuture<Void> firstSaved = writer.enqueue(first);
+        CompletableFuture<Void> secondSaved = writer.enqueue(second);
+        CompletableFuture<Void> thirdSaved = writer.enqueue(third);
+        writer.flush();
+
+        assertDoesNotThrow(() -> firstSaved.get());
+        assertDoesNotThrow(() -> secondSaved.get());
+
+        ExecutionException failed = assertThrows(ExecutionException.class, thirdSaved::get);
+        assertSame(outage, failed.getCause().getCause());
+
+        verify(client, times(2)).batchWriteItem(anyRequest());
+    }
+
+    @Test
+    void resendsWholeRequestThatThrew() {
+
+        BatchWriteResult written = mock(BatchWriteResult.class);
+        when(written.unprocessedPutItemsForTable(table)).thenReturn(List.of());
+
+        when(client.batchWriteItem(anyRequest()))
+                .thenThrow(SdkClientException.create("timeout"))
+                .thenReturn(written);
+
+        CompletableFuture<Void> firstSaved = writer.enqueue(candidate("c1"));
+        CompletableFuture<Void> secondSaved = writer.enqueue(candidate("c2"));
+        writer.flush();
+
+        assertDoesNotThrow(() -> firstSaved.get());
+        assertDoesNotThrow(() -> secondSaved.get());
+        verify(client, times(2)).batchWriteItem(anyRequest());
+    }
+
+    @Test
+    void failsEveryCandidateWhenNoAttemptGetsThrough() {
+
+        when(client.batchWriteItem(anyRequest()))
+                .thenThrow(SdkClientException.create("down"));
+
+        CompletableFuture<Void> saved = writer.enqueue(candidate("c1"));
+        writer.flush();
+
+        assertTrue(saved.isCompletedExceptionally());
+    }
+
+    private static Consumer<BatchWriteItemEnhancedRequest.Builder> anyRequest() {
+        return any();
+    }
+
+    private static Candidate candidate(String id) {
+        Candidate candidate = new Candidate();
+        candidate.setCandidateId(id);
+        candidate.setEmail(id + "@example.org");
+        return candidate;
+    }
+}
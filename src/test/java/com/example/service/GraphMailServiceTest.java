@@ -0,0 +1,151 @@
+package com.example.service;
+
+import com.example.config.GraphMailProperties;
+import com.example.infrastructure.graph.DeltaTokenStore;
+import com.example.infrastructure.graph.StubGraphServer;
+import com.example.infrastructure.graph.StubGraphServer.Reply;
+import com.example.service.sync.MailSyncJob;
+import com.microsoft.graph.serviceclient.GraphServiceClient;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Syncs a mailbox of two unread emails, each with one PDF resume, against a
+ * stub Graph and checks which calls went through {@code $batch} and which
+ * fell back to direct ones.
+ */
+class GraphMailServiceTest {
+
+    private static final String MAILBOX = "careers@example.com";
+    private static final String MESSAGES = "/users/" + MAILBOX + "/messages";
+
+    private static final String PDF = Base64.getEncoder()
+            .encodeToString("%PDF-1.7\n".getBytes(StandardCharsets.US_ASCII));
+
+    private StubGraphServer graph;
+    private GraphServiceClient graphClient;
+    private GraphMailService service;
+
+    @BeforeEach
+    void setUp() throws IOException {
+
+        graph = new StubGraphServer();
+        graphClient = graph.client();
+
+        GraphMailProperties properties = new GraphMailProperties();
+        properties.setBaseUrl(graph.baseUrl());
+        properties.setDeltaEnabled(false);
+
+        ResumeProcessingService resumes = mock(ResumeProcessingService.class);
+        when(resumes.process(any(), any(), any(), any())).thenReturn(ResumeOutcome.SAVED);
+
+        service = new GraphMailService(
+                mock(OAuth2AuthorizedClientService.class),
+                resumes,
+                new GraphTenantLimiter(properties),
+                mock(DeltaTokenStore.class),
+                properties
+        );
+
+        graph.on("GET", MESSAGES, Reply.ok("{\"value\":[" + message("m1") + "," + message("m2") + "]}"));
+        graph.on("GET", MESSAGES + "/[^/]+/attachments/[^/]+", call -> Reply.ok(content(call.path())));
+        graph.on("PATCH", MESSAGES + "/[^/]+", Reply.ok("{\"isRead\":true}"));
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        graph.close();
+    }
+
+    @Test
+    void downloadsContentAndMarksReadThroughBatch() {
+
+        MailSyncJob job = sync();
+
+        assertEquals(2, job.getCounters().get("candidatesSaved"));
+        assertEquals(0, job.getCounters().get("failedMessages"));
+
+        // Listing, then one batch of content downloads and one of mark-as-read patches
+        assertEquals(List.of("GET"), graph.directCalls().stream().map(StubGraphServer.Call::method).toList());
+        assertEquals(2, graph.batches().size());
+        assertEquals(List.of("PATCH", "PATCH"),
+                graph.batches().get(1).stream().map(StubGraphServer.Call::method).toList());
+    }
+
+    @Test
+    void patchesThrottledStepDirectly() {
+
+        // Throttled inside the batch only; the direct retry goes through
+        graph.on("PATCH", MESSAGES + "/m2", call -> call.batched()
+                ? Reply.error(429)
+                : Reply.ok("{\"isRead\":true}"));
+
+        MailSyncJob job = sync();
+
+        assertEquals(1, graph.directCalls("PATCH", MESSAGES + "/m2").size());
+        assertTrue(graph.directCalls("PATCH", MESSAGES + "/m1").isEmpty());
+        assertEquals(0, job.getCounters().get("failedMessages"));
+    }
+
+    @Test
+    void countsEmailAsFailedWhenDirectPatchFailsToo() {
+
+        graph.on("PATCH", MESSAGES + "/m2", Reply.error(500));
+
+        MailSyncJob job = sync();
+
+        assertEquals(1, graph.directCalls("PATCH", MESSAGES + "/m2").size());
+        assertEquals(1, job.getCounters().get("failedMessages"));
+    }
+
+    @Test
+    void downloadsContentDirectlyWhenItsStepFails() {
+
+        graph.on("GET", MESSAGES + "/m2/attachments/[^/]+", call -> call.batched()
+                ? Reply.error(503)
+                : Reply.ok(content(call.path())));
+
+        MailSyncJob job = sync();
+
+        assertEquals(2, job.getCounters().get("candidatesSaved"));
+        assertEquals(1, graph.directCalls("GET", MESSAGES + "/m2/attachments/att-m2").size());
+        assertTrue(graph.directCalls("GET", MESSAGES + "/m1/attachments/att-m1").isEmpty());
+    }
+
+    private MailSyncJob sync() {
+        MailSyncJob job = new MailSyncJob("test_" + MAILBOX);
+        assertTrue(service.syncMailbox(graphClient, graphClient.users().byUserId(MAILBOX), "test", job.getMailboxKey(), job));
+        assertNull(job.getError());
+        return job;
+    }
+
+    private static String message(String id) {
+        return """
+                {"id":"%1$s","subject":"Application %1$s","hasAttachments":true,"isRead":false,
+                 "from":{"emailAddress":{"name":"Applicant %1$s","address":"%1$s@example.org"}},
+                 "attachments":[{"@odata.type":"#microsoft.graph.fileAttachment","id":"att-%1$s",
+                   "name":"resume-%1$s.pdf","contentType":"application/pdf","size":9,"isInline":false}]}
+                """.formatted(id);
+    }
+
+    private static String content(String path) {
+        String attachmentId = path.substring(path.lastIndexOf('/') + 1);
+        return """
+                {"@odata.type":"#microsoft.graph.fileAttachment","id":"%s","name":"resume.pdf","contentBytes":"%s"}
+                """.formatted(attachmentId, PDF);
+    }
+}
@@ -0,0 +1,62 @@
+package com.example.service.extraction.format;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class DocxTextExtractorTest {
+
+    private static final String W = "http://schemas.openxmlformats.org/wordprocessingml/2006/main";
+
+    private final DocxTextExtractor extractor = new DocxTextExtractor(100_000);
+
+    @Test
+    void keepsTabsInRunsButNotTabStopDefinitions() throws Exception {
+
+        String body = """
+                <w:p>
+                  <w:pPr><w:tabs><w:tab w:val="right" w:pos="9000"/></w:tabs></w:pPr>
+                  <w:r><w:t>Jane Doe</w:t></w:r><w:r><w:tab/><w:t>jane@example.org</w:t></w:r>
+                </w:p>
+                <w:p><w:r><w:t>Java</w:t><w:br/><w:t>Kotlin</w:t></w:r></w:p>
+                """;
+
+        assertEquals("Jane Doe\tjane@example.org\nJava\nKotlin\n", extractor.extract(docx(body, null)));
+    }
+
+    @Test
+    void putsHeaderBeforeBody() throws Exception {
+
+        String header = "<w:p><w:r><w:t>Jane Doe</w:t></w:r></w:p>";
+        String body = "<w:p><w:r><w:t>Experience</w:t></w:r></w:p>";
+
+        assertEquals("Jane Doe\n\nExperience\n", extractor.extract(docx(body, header)));
+    }
+
+    private static byte[] docx(String body, String header) throws IOException {
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        try (ZipOutputStream zip = new ZipOutputStream(out)) {
+            if (header != null) {
+                part(zip, "word/header1.xml", "<w:hdr xmlns:w=\"" + W + "\">" + header + "</w:hdr>");
+            }
+            part(zip, "word/document.xml",
+                    "<w:document xmlns:w=\"" + W + "\"><w:body>" + body + "</w:body></w:document>");
+        }
+
+        return out.toByteArray();
+    }
+
+    private static void part(ZipOutputStream zip, String name, String xml) throws IOException {
+        zip.putNextEntry(new ZipEntry(name));
+        zip.write(xml.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+}